@@ -0,0 +1,111 @@
+package net.george.blueprint.common.resource;
+
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures one full resource reload of a synthetic pack with 50k files, comparing a {@link PathResourcePack} using its {@link PackIndex} with one looking every file up on the file system.
+ * <p>A reload lists the namespaces of both resource types, finds the resources under the usual prefixes and checks each found resource and its .mcmeta file, like the resource managers do.</p>
+ * <p>Every reload uses a new pack, so building the index is included.</p>
+ *
+ * @author Mr.George
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PackReloadBenchmark {
+    private static final int NAMESPACES = 10;
+    private static final String[] CLIENT_PREFIXES = {"blockstates", "models", "textures"};
+    private static final String[] SERVER_PREFIXES = {"recipes", "loot_tables"};
+    @Param({"50000"})
+    public int fileCount;
+    private Path root;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.root = Files.createTempDirectory("blueprint_pack_benchmark");
+        // Each namespace gets the same share of files, spread over the prefixes of both resource types
+        String[] prefixes = {"assets/%s/blockstates/block_%d.json", "assets/%s/models/block/block_%d.json", "assets/%s/models/item/item_%d.json", "assets/%s/textures/block/block_%d.png", "assets/%s/textures/item/item_%d.png", "data/%s/recipes/recipe_%d.json", "data/%s/loot_tables/blocks/block_%d.json"};
+        int filesPerPrefix = this.fileCount / NAMESPACES / prefixes.length;
+        for (int namespace = 0; namespace < NAMESPACES; namespace++) {
+            for (String prefix : prefixes) {
+                for (int i = 0; i < filesPerPrefix; i++) {
+                    Path path = this.root.resolve(String.format(prefix, "namespace_" + namespace, i));
+                    Files.createDirectories(path.getParent());
+                    Files.writeString(path, "{}");
+                }
+            }
+        }
+        Files.writeString(this.root.resolve("pack.mcmeta"), "{\"pack\":{\"pack_format\":8,\"description\":\"benchmark\"}}");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> stream = Files.walk(this.root)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static long reload(PathResourcePack pack) throws IOException {
+        long found = 0L;
+        pack.openRoot("pack.mcmeta").close();
+        for (ResourceType type : ResourceType.values()) {
+            for (String namespace : pack.getNamespaces(type)) {
+                for (String prefix : type == ResourceType.CLIENT_RESOURCES ? CLIENT_PREFIXES : SERVER_PREFIXES) {
+                    for (Identifier id : pack.findResources(type, namespace, prefix, Integer.MAX_VALUE, path -> path.endsWith(".json") || path.endsWith(".png"))) {
+                        if (pack.contains(type, id)) {
+                            found++;
+                        }
+                        if (pack.contains(type, new Identifier(id.getNamespace(), id.getPath() + ".mcmeta"))) {
+                            found++;
+                        }
+                    }
+                }
+            }
+        }
+        pack.close();
+        return found;
+    }
+
+    @Benchmark
+    public long indexed() throws IOException {
+        return reload(new PathResourcePack("benchmark", this.root));
+    }
+
+    @Benchmark
+    public long fileSystem() throws IOException {
+        return reload(new PathResourcePack("benchmark", this.root) {
+            @Nullable
+            @Override
+            PackIndex createIndex() {
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package net.george.blueprint.common.world.modification;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the slice lookups of generating a fixed area of chunks on worker threads, like {@link ModdedBiomeSource#getBiome} gets called during chunk generation.
+ * <p>A region size of 0 uses the small cache of each thread, the other sizes use the shared region cache.</p>
+ * <p>Every iteration starts with empty caches, so the cost of computing the regions is included.</p>
+ *
+ * @author Mr.George
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ModdedBiomeSliceBenchmark {
+    // A 64x64 chunk area, with the 96 quart heights of the overworld
+    private static final int AREA_CHUNKS = 64;
+    private static final int QUART_HEIGHT = 96;
+    @Param({"0", "256", "512", "1024", "2048"})
+    public int regionSize;
+    @Param({"64"})
+    public int regionCacheCapacity;
+    @Param({"4", "16"})
+    public int sliceCount;
+    private ModdedBiomeSliceLayout layout;
+    private long seed;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        int sliceCount = this.sliceCount;
+        int[] weights = new int[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            weights[i] = 1 + i % 3;
+        }
+        long seed = this.seed++;
+        // Matches the size and seeds a ModdedBiomeSource gets for the default slice size of 8
+        int size = 8 + 32 - Integer.numberOfLeadingZeros(sliceCount - 1);
+        this.layout = new ModdedBiomeSliceLayout(weights, size, seed + 1791510900, seed - 771160217, this.regionSize, this.regionCacheCapacity);
+    }
+
+    @Benchmark
+    public long generateArea() {
+        ModdedBiomeSliceLayout layout = this.layout;
+        return IntStream.range(0, AREA_CHUNKS * AREA_CHUNKS).parallel().mapToLong(chunk -> {
+            int quartX = (chunk / AREA_CHUNKS) << 2;
+            int quartZ = (chunk % AREA_CHUNKS) << 2;
+            long sum = 0L;
+            for (int y = 0; y < QUART_HEIGHT; y++) {
+                for (int x = 0; x < 4; x++) {
+                    for (int z = 0; z < 4; z++) {
+                        sum += layout.getSliceIndex(quartX + x, quartZ + z);
+                    }
+                }
+            }
+            return sum;
+        }).sum();
+    }
+}
@@ -0,0 +1,140 @@
+package net.george.blueprint.common.world.storage.tracking;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one tracker tick over 10k entities using the old dirty tracking, which scanned every entry into a new set and walked them all again to clean them, with the dirty bitset of {@link TrackedDataSlots}.
+ * <p>Every tick an eighth of the entities change one of their values.</p>
+ *
+ * @author Mr.George
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirtyTrackingBenchmark {
+    private static final int ENTITIES = 10000;
+    @Param({"1", "8", "64"})
+    public int trackedDataCount;
+    private TrackedData<Integer>[] trackedData;
+    private LegacyDataManager[] legacyManagers;
+    private TrackedDataSlots[] slots;
+    private int tick;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        int count = this.trackedDataCount;
+        this.trackedData = new TrackedData[count];
+        for (int i = 0; i < count; i++) {
+            TrackedData<Integer> data = TrackedData.Builder.create(DataProcessors.INT, () -> 0).build();
+            TrackedDataManager.INSTANCE.registerData(new Identifier("blueprint_benchmark", "data_" + i), data);
+            this.trackedData[i] = data;
+        }
+        this.legacyManagers = new LegacyDataManager[ENTITIES];
+        this.slots = new TrackedDataSlots[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) {
+            LegacyDataManager legacyManager = this.legacyManagers[i] = new LegacyDataManager();
+            TrackedDataSlots slots = this.slots[i] = new TrackedDataSlots();
+            for (TrackedData<Integer> data : this.trackedData) {
+                legacyManager.setValue(data, 1);
+                slots.setInt(data, 1, true);
+            }
+            legacyManager.clean();
+            slots.clean();
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        int tick = this.tick++;
+        TrackedData<Integer> changed = this.trackedData[tick % this.trackedData.length];
+        LegacyDataManager[] managers = this.legacyManagers;
+        for (int i = 0; i < ENTITIES; i++) {
+            LegacyDataManager manager = managers[i];
+            if ((i & 7) == (tick & 7)) {
+                manager.setValue(changed, tick);
+            }
+            if (manager.isDirty()) {
+                for (IDataManager.DataEntry<?> entry : manager.getDirtyEntries()) {
+                    blackhole.consume(entry);
+                }
+                manager.clean();
+            }
+        }
+    }
+
+    @Benchmark
+    public void bitset(Blackhole blackhole) {
+        int tick = this.tick++;
+        TrackedData<Integer> changed = this.trackedData[tick % this.trackedData.length];
+        TrackedDataSlots[] slots = this.slots;
+        for (int i = 0; i < ENTITIES; i++) {
+            TrackedDataSlots entitySlots = slots[i];
+            if ((i & 7) == (tick & 7)) {
+                entitySlots.setInt(changed, tick, true);
+            }
+            if (entitySlots.isDirty()) {
+                for (IDataManager.DataEntry<?> entry : entitySlots.getDirtyEntries()) {
+                    blackhole.consume(entry);
+                }
+                entitySlots.clean();
+            }
+        }
+    }
+
+    // The entity implementation of IDataManager from before the dirty bitset
+    private static final class LegacyDataManager {
+        private final Map<TrackedData<?>, IDataManager.DataEntry<?>> dataMap = Maps.newHashMap();
+        private boolean dirty;
+
+        @SuppressWarnings("unchecked")
+        private <T> void setValue(TrackedData<T> trackedData, T value) {
+            IDataManager.DataEntry<T> entry = (IDataManager.DataEntry<T>) this.dataMap.computeIfAbsent(trackedData, IDataManager.DataEntry::new);
+            if (!entry.getValue().equals(value)) {
+                entry.setValue(value, true);
+                this.dirty = true;
+            }
+        }
+
+        private boolean isDirty() {
+            return this.dirty;
+        }
+
+        private void clean() {
+            this.dataMap.values().forEach(IDataManager.DataEntry::clean);
+            this.dirty = false;
+        }
+
+        private Set<IDataManager.DataEntry<?>> getDirtyEntries() {
+            Set<IDataManager.DataEntry<?>> dirtyEntries = Sets.newHashSet();
+            for (IDataManager.DataEntry<?> dataEntry : this.dataMap.values()) {
+                if (dataEntry.isDirty() && dataEntry.getTrackedData().getSyncType() != SyncType.NOPE) {
+                    dirtyEntries.add(dataEntry);
+                }
+            }
+            return dirtyEntries;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package net.george.blueprint.common.world.storage.tracking;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares saving the tracked data of 10k entities in the old list format, which wrote every value through {@link IDataProcessor#write(Object)} and stringified its key, with the compact compound format that caches saved elements.
+ * <p>The {@code changedEvery} parameter sets how many entities share one changed value between saves, with 0 meaning no values change.</p>
+ *
+ * @author Mr.George
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackedDataSaveBenchmark {
+    private static final int ENTITIES = 10000;
+    @Param({"0", "10", "1"})
+    public int changedEvery;
+    private TrackedData<Integer> intData;
+    private TrackedData<Boolean> booleanData;
+    private TrackedData<String> stringData;
+    private TrackedData<BlockPos> posData;
+    private TrackedDataSlots[] slots;
+    private int save;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.intData = register("int", TrackedData.Builder.create(DataProcessors.INT, () -> 0).enableSaving().build());
+        this.booleanData = register("boolean", TrackedData.Builder.create(DataProcessors.BOOLEAN, () -> false).enableSaving().build());
+        this.stringData = register("string", TrackedData.Builder.create(DataProcessors.STRING, () -> "").enableSaving().build());
+        this.posData = register("pos", TrackedData.Builder.create(DataProcessors.POS, () -> BlockPos.ORIGIN).enableSaving().build());
+        this.slots = new TrackedDataSlots[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) {
+            TrackedDataSlots slots = this.slots[i] = new TrackedDataSlots();
+            slots.setInt(this.intData, i, false);
+            slots.setBoolean(this.booleanData, (i & 1) == 0, false);
+            slots.setValue(this.stringData, "entity_" + i, false);
+            slots.setValue(this.posData, new BlockPos(i, 64, -i), false);
+        }
+    }
+
+    private static <T> TrackedData<T> register(String name, TrackedData<T> trackedData) {
+        TrackedDataManager.INSTANCE.registerData(new Identifier("blueprint_benchmark", name), trackedData);
+        return trackedData;
+    }
+
+    private void changeValues() {
+        int changedEvery = this.changedEvery;
+        if (changedEvery > 0) {
+            int save = this.save++;
+            TrackedDataSlots[] slots = this.slots;
+            for (int i = save % changedEvery; i < ENTITIES; i += changedEvery) {
+                slots[i].setInt(this.intData, save, false);
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacyList(Blackhole blackhole) {
+        this.changeValues();
+        for (TrackedDataSlots slots : this.slots) {
+            NbtList nbtElements = new NbtList();
+            slots.forEach(dataEntry -> {
+                TrackedData<?> trackedData = dataEntry.getTrackedData();
+                if (trackedData.shouldSave()) {
+                    NbtCompound dataTag = dataEntry.writeValue();
+                    dataTag.putString("Id", Objects.requireNonNull(TrackedDataManager.INSTANCE.getKey(trackedData)).toString());
+                    nbtElements.add(dataTag);
+                }
+            });
+            blackhole.consume(nbtElements);
+        }
+    }
+
+    @Benchmark
+    public void compactCompound(Blackhole blackhole) {
+        this.changeValues();
+        for (TrackedDataSlots slots : this.slots) {
+            NbtCompound dataTag = new NbtCompound();
+            slots.forEach(dataEntry -> {
+                TrackedData<?> trackedData = dataEntry.getTrackedData();
+                if (trackedData.shouldSave()) {
+                    dataTag.put(Objects.requireNonNull(trackedData.getKeyString()), dataEntry.writeElement());
+                }
+            });
+            blackhole.consume(dataTag);
+        }
+    }
+}
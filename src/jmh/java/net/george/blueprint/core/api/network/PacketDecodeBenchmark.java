@@ -0,0 +1,100 @@
+package net.george.blueprint.core.api.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the decode throughput of the reflective packet decoders {@link SimpleChannel} used to create, which called {@link Constructor#newInstance(Object...)} inside a try/catch, with the decoders generated by {@link SimpleChannel#createConstructorDecoder(Class)}.
+ * <p>Calling the constructor directly is included as the upper bound.</p>
+ *
+ * @author Mr.George
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketDecodeBenchmark {
+    private static final int PACKETS = 1024;
+    private PacketByteBuf buf;
+    private Function<PacketByteBuf, BenchmarkPacket> reflective;
+    private Function<PacketByteBuf, BenchmarkPacket> generated;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        this.buf = new PacketByteBuf(Unpooled.buffer());
+        for (int i = 0; i < PACKETS; i++) {
+            this.buf.writeVarInt(i);
+            this.buf.writeLong(i * 31L);
+            this.buf.writeBoolean((i & 1) == 0);
+        }
+        // The decoder registerC2SPacket(Class, int) and registerS2CPacket(Class, int) created before decoders were generated
+        Constructor<BenchmarkPacket> constructor = BenchmarkPacket.class.getDeclaredConstructor(PacketByteBuf.class);
+        constructor.setAccessible(true);
+        this.reflective = buf -> {
+            try {
+                return constructor.newInstance(buf);
+            } catch (Exception exception) {
+                throw new RuntimeException(exception);
+            }
+        };
+        this.generated = SimpleChannel.createConstructorDecoder(BenchmarkPacket.class);
+    }
+
+    private void decode(Function<PacketByteBuf, BenchmarkPacket> decoder, Blackhole blackhole) {
+        PacketByteBuf buf = this.buf;
+        buf.readerIndex(0);
+        for (int i = 0; i < PACKETS; i++) {
+            blackhole.consume(decoder.apply(buf));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public void reflective(Blackhole blackhole) {
+        this.decode(this.reflective, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public void generated(Blackhole blackhole) {
+        this.decode(this.generated, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public void direct(Blackhole blackhole) {
+        this.decode(BenchmarkPacket::new, blackhole);
+    }
+
+    // A small packet with a private constructor, like most packets registered without a decoder
+    private static final class BenchmarkPacket {
+        private final int id;
+        private final long value;
+        private final boolean flag;
+
+        private BenchmarkPacket(PacketByteBuf buf) {
+            this.id = buf.readVarInt();
+            this.value = buf.readLong();
+            this.flag = buf.readBoolean();
+        }
+    }
+}
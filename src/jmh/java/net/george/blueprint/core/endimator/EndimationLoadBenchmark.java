@@ -0,0 +1,164 @@
+package net.george.blueprint.core.endimator;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.mojang.serialization.JsonOps;
+import net.george.blueprint.core.endimator.interpolation.EndimationEasers;
+import net.george.blueprint.core.endimator.interpolation.EndimationInterpolator;
+import net.george.blueprint.core.endimator.interpolation.InterpolationType;
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the work {@link EndimationLoader} does for a pack of endimation files on a resource reload, after the files have been read.
+ * <p>{@code parseSequential} parses the files one at a time like the loader used to, {@code parseParallel} parses each file on its own task like the loader does now, and {@code cached} reads the {@link EndimationCache} and only hashes the files, like the loader does when the cache is enabled and no file changed.</p>
+ *
+ * @author Mr.George
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndimationLoadBenchmark {
+    private static final int PARTS = 12;
+    private static final int KEYFRAMES = 8;
+    private static final JsonParser PARSER = new JsonParser();
+    @Param({"100", "1000"})
+    public int fileCount;
+    private Identifier[] locations;
+    private byte[][] files;
+    private Path cacheFolder;
+    private Path cachePath;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        int fileCount = this.fileCount;
+        this.locations = new Identifier[fileCount];
+        this.files = new byte[fileCount][];
+        Map<Identifier, EndimationCache.Entry> entries = new HashMap<>();
+        for (int i = 0; i < fileCount; i++) {
+            Identifier location = this.locations[i] = new Identifier("blueprint_benchmark", "endimations/endimation_" + i + ".json");
+            JsonElement json = Endimation.CODEC.encodeStart(JsonOps.INSTANCE, createEndimation(i)).getOrThrow(false, message -> {});
+            byte[] bytes = this.files[i] = json.toString().getBytes(StandardCharsets.UTF_8);
+            entries.put(location, new EndimationCache.Entry(Hashing.murmur3_128().hashBytes(bytes), parse(bytes)));
+        }
+        this.cacheFolder = Files.createTempDirectory("blueprint_endimation_benchmark");
+        this.cachePath = this.cacheFolder.resolve("endimations.bin");
+        EndimationCache.write(this.cachePath, entries);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.cachePath);
+        Files.deleteIfExists(this.cacheFolder);
+    }
+
+    // An endimation the size of a detailed mob animation, with catmull-rom keyframes for every keyframe type of every part
+    private static Endimation createEndimation(int seed) {
+        EndimationInterpolator interpolator = new EndimationInterpolator(InterpolationType.CATMULL_ROM, EndimationEasers.EASE_IN_OUT_SINE);
+        Endimation.Builder.Keyframes keyframes = Endimation.Builder.Keyframes.keyframes();
+        for (int part = 0; part < PARTS; part++) {
+            keyframes.part("part_" + part, Endimation.PartKeyframes.Builder.partKeyframes()
+                    .pos(createKeyframes(seed + part, interpolator))
+                    .rotate(createKeyframes(seed + part + 1, interpolator))
+                    .offset(createKeyframes(seed + part + 2, interpolator))
+                    .scale(createKeyframes(seed + part + 3, interpolator)));
+        }
+        return Endimation.builder().keyframes(keyframes).build();
+    }
+
+    private static EndimationKeyframe[] createKeyframes(int seed, EndimationInterpolator interpolator) {
+        EndimationKeyframe[] frames = new EndimationKeyframe[KEYFRAMES];
+        for (int i = 0; i < KEYFRAMES; i++) {
+            float x = (seed * 7 + i * 3) % 11 * 0.1F;
+            float y = (seed * 5 + i * 7) % 13 * 0.1F;
+            float z = (seed * 3 + i * 5) % 17 * 0.1F;
+            frames[i] = new EndimationKeyframe(i * 0.25F, new EndimationKeyframe.Transform(() -> x, () -> y, () -> z), interpolator);
+        }
+        return frames;
+    }
+
+    // The same parsing EndimationLoader does for a file that isn't cached
+    private static Endimation parse(byte[] bytes) {
+        try (InputStreamReader inputStreamReader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            var dataResult = Endimation.CODEC.decode(JsonOps.INSTANCE, PARSER.parse(inputStreamReader));
+            var error = dataResult.error();
+            if (error.isPresent()) {
+                throw new JsonParseException(error.get().message());
+            }
+            return dataResult.result().get().getFirst().bake();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Benchmark
+    public List<Endimation> parseSequential() {
+        List<Endimation> endimations = new ArrayList<>(this.files.length);
+        for (byte[] bytes : this.files) {
+            Hashing.murmur3_128().hashBytes(bytes);
+            endimations.add(parse(bytes));
+        }
+        return endimations;
+    }
+
+    @Benchmark
+    public List<Endimation> parseParallel() {
+        List<CompletableFuture<Endimation>> futures = new ArrayList<>(this.files.length);
+        for (byte[] bytes : this.files) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                Hashing.murmur3_128().hashBytes(bytes);
+                return parse(bytes);
+            }, ForkJoinPool.commonPool()));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Benchmark
+    public List<Endimation> cached() {
+        Map<Identifier, EndimationCache.Entry> cache = EndimationCache.read(this.cachePath);
+        List<CompletableFuture<Endimation>> futures = new ArrayList<>(this.files.length);
+        for (int i = 0; i < this.files.length; i++) {
+            byte[] bytes = this.files[i];
+            Identifier location = this.locations[i];
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                HashCode hash = Hashing.murmur3_128().hashBytes(bytes);
+                EndimationCache.Entry cached = cache.get(location);
+                return cached != null && cached.hash().equals(hash) ? cached.endimation().bake() : parse(bytes);
+            }, ForkJoinPool.commonPool()));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+}
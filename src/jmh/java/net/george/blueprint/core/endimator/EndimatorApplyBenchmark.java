@@ -0,0 +1,128 @@
+package net.george.blueprint.core.endimator;
+
+import net.george.blueprint.core.endimator.interpolation.EndimationEasers;
+import net.george.blueprint.core.endimator.interpolation.EndimationInterpolator;
+import net.george.blueprint.core.endimator.interpolation.InterpolationType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures posing 1k entities with an {@link Endimation}, one after another on the calling thread and in parallel with {@link Endimator#applyAll(List, Endimator.ResetMode)}.
+ * <p>Every entity has its own {@link Endimator} with 8 parts, each animated by catmull-rom keyframes for every {@link KeyframeType}, and is posed at a different time.</p>
+ *
+ * @author Mr.George
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndimatorApplyBenchmark {
+    private static final int ENTITIES = 1000;
+    private static final int PARTS = 8;
+    private static final int KEYFRAMES = 6;
+    @Param({"false", "true"})
+    public boolean baked;
+    private List<Endimator.Pose> poses;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        EndimationInterpolator interpolator = new EndimationInterpolator(InterpolationType.CATMULL_ROM, EndimationEasers.LINEAR);
+        Endimation.Builder.Keyframes keyframes = Endimation.Builder.Keyframes.keyframes();
+        for (int part = 0; part < PARTS; part++) {
+            keyframes.part("part_" + part, Endimation.PartKeyframes.Builder.partKeyframes()
+                    .pos(createKeyframes(part, interpolator))
+                    .rotate(createKeyframes(part + 1, interpolator))
+                    .offset(createKeyframes(part + 2, interpolator))
+                    .scale(createKeyframes(part + 3, interpolator)));
+        }
+        Endimation endimation = Endimation.builder().keyframes(keyframes).build();
+        if (this.baked) {
+            endimation.bake();
+        }
+        float length = endimation.getLength();
+        List<Endimator.Pose> poses = new ArrayList<>(ENTITIES);
+        for (int i = 0; i < ENTITIES; i++) {
+            Endimator endimator = new Endimator();
+            for (int part = 0; part < PARTS; part++) {
+                endimator.put("part_" + part, new BenchmarkPart());
+            }
+            poses.add(new Endimator.Pose(endimator, endimation, length * i / ENTITIES));
+        }
+        this.poses = poses;
+    }
+
+    private static EndimationKeyframe[] createKeyframes(int seed, EndimationInterpolator interpolator) {
+        EndimationKeyframe[] frames = new EndimationKeyframe[KEYFRAMES];
+        for (int i = 0; i < KEYFRAMES; i++) {
+            float x = (seed * 7 + i * 3) % 11 * 0.1F;
+            float y = (seed * 5 + i * 7) % 13 * 0.1F;
+            float z = (seed * 3 + i * 5) % 17 * 0.1F;
+            frames[i] = new EndimationKeyframe(i * 0.25F, new EndimationKeyframe.Transform(() -> x, () -> y, () -> z), interpolator);
+        }
+        return frames;
+    }
+
+    @Benchmark
+    public void sequential() {
+        for (Endimator.Pose pose : this.poses) {
+            pose.apply(Endimator.ResetMode.ALL);
+        }
+    }
+
+    @Benchmark
+    public void parallel() {
+        Endimator.applyAll(this.poses, Endimator.ResetMode.ALL);
+    }
+
+    // Stands in for a ModelPart, which only gets EndimatablePart through a mixin
+    private static final class BenchmarkPart implements EndimatablePart {
+        private float x, y, z;
+        private float xRot, yRot, zRot;
+        private float xOffset, yOffset, zOffset;
+        private float xScale, yScale, zScale;
+
+        @Override
+        public void addPos(float x, float y, float z) {
+            this.x += x;
+            this.y += y;
+            this.z += z;
+        }
+
+        @Override
+        public void addRotation(float x, float y, float z) {
+            this.xRot += x;
+            this.yRot += y;
+            this.zRot += z;
+        }
+
+        @Override
+        public void addOffset(float x, float y, float z) {
+            this.xOffset += x;
+            this.yOffset += y;
+            this.zOffset += z;
+        }
+
+        @Override
+        public void addScale(float x, float y, float z) {
+            this.xScale += x;
+            this.yScale += y;
+            this.zScale += z;
+        }
+    }
+}
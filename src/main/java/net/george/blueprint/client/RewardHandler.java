@@ -120,7 +120,11 @@ public final class RewardHandler {
         }
 
         public static boolean getSetting(IDataManager data, SlabfishSetting flag) {
-            return ((data.getValue(Blueprint.SLABFISH_SETTINGS) >> flag.ordinal()) & 1) > 0;
+            return getSetting(data.getValue(Blueprint.SLABFISH_SETTINGS), flag);
+        }
+
+        public static boolean getSetting(byte settings, SlabfishSetting flag) {
+            return ((settings >> flag.ordinal()) & 1) > 0;
         }
     }
 
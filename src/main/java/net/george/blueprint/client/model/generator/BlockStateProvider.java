@@ -21,7 +21,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -37,6 +36,7 @@ import java.util.function.Function;
 public abstract class BlockStateProvider implements DataProvider {
     private static final Logger LOGGER = LogManager.getLogger();
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    private static final Gson COMPACT_GSON = new GsonBuilder().disableHtmlEscaping().create();
     private static final int DEFAULT_ANGLE_OFFSET = 180;
     @VisibleForTesting
     protected final Map<Block, IGeneratedBlockstate> registeredBlocks = new LinkedHashMap<>();
@@ -52,11 +52,21 @@ public abstract class BlockStateProvider implements DataProvider {
             @Override
             protected void registerModels() {
             }
+
+            @Override
+            protected boolean useCompactOutput() {
+                return BlockStateProvider.this.useCompactOutput();
+            }
         };
         this.itemModels = new ItemModelProvider(gen, modid, this.blockModels.existingFileHelper) {
             @Override
             protected void registerModels() {
             }
+
+            @Override
+            protected boolean useCompactOutput() {
+                return BlockStateProvider.this.useCompactOutput();
+            }
         };
     }
 
@@ -68,9 +78,21 @@ public abstract class BlockStateProvider implements DataProvider {
         registerStatesAndModels();
         models().generateAll(cache);
         itemModels().generateAll(cache);
+        GeneratedJsonWriter writer = new GeneratedJsonWriter();
         for (Map.Entry<Block, IGeneratedBlockstate> entry : this.registeredBlocks.entrySet()) {
-            saveBlockState(cache, entry.getValue().toJson(), entry.getKey());
+            saveBlockState(writer, entry.getValue().toJson(), entry.getKey());
         }
+        writer.writeAll(useCompactOutput() ? COMPACT_GSON : GSON, cache, (outputPath, exception) -> LOGGER.error("Couldn't save blockstate to {}", outputPath, exception));
+    }
+
+    /**
+     * Checks if generated blockstates and models should be written without pretty printing.
+     * <p>Compact files are smaller and faster to write, but harder to read.</p>
+     *
+     * @return If generated blockstates and models should be written without pretty printing.
+     */
+    protected boolean useCompactOutput() {
+        return false;
     }
 
     protected abstract void registerStatesAndModels();
@@ -504,16 +526,11 @@ public abstract class BlockStateProvider implements DataProvider {
         }, TrapdoorBlock.POWERED, TrapdoorBlock.WATERLOGGED);
     }
 
-    private void saveBlockState(DataCache cache, JsonObject stateJson, Block owner) {
+    private void saveBlockState(GeneratedJsonWriter writer, JsonObject stateJson, Block owner) {
         Identifier blockName = Preconditions.checkNotNull(getRegistryName(owner));
         Path mainOutput = generator.getOutput();
         String pathSuffix = "assets/" + blockName.getNamespace() + "/blockstates/" + blockName.getPath() + ".json";
-        Path outputPath = mainOutput.resolve(pathSuffix);
-        try {
-            DataProvider.writeToPath(GSON, cache, stateJson, outputPath);
-        } catch (IOException exception) {
-            LOGGER.error("Couldn't save blockstate to {}", outputPath, exception);
-        }
+        writer.add(mainOutput.resolve(pathSuffix), stateJson);
     }
 
     @NotNull
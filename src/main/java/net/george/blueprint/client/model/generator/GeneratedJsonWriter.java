@@ -0,0 +1,104 @@
+package net.george.blueprint.client.model.generator;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import net.minecraft.data.DataCache;
+import net.minecraft.data.DataProvider;
+import net.minecraft.util.Util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes generated JSON files like {@link DataProvider#writeToPath(Gson, DataCache, JsonElement, Path)}, but serializes, hashes, and writes them on worker threads.
+ * <p>The {@link DataCache} is only touched on the calling thread, in the same order the files are given in, so the cache stays deterministic.</p>
+ * <p>Files with the same hash as the one in the {@link DataCache} that still exist don't get written again.</p>
+ *
+ * @author Mr.George
+ */
+final class GeneratedJsonWriter {
+    //The same hash function DataProvider hashes its files with, so the hashes in the DataCache match
+    @SuppressWarnings({"deprecation", "UnstableApiUsage"})
+    private static final HashFunction SHA1 = Hashing.sha1();
+    private final List<Path> paths = new ArrayList<>();
+    private final List<JsonElement> jsons = new ArrayList<>();
+
+    /**
+     * Adds a JSON file to write.
+     *
+     * @param path The {@link Path} to write the file at.
+     * @param json The {@link JsonElement} to write to the file.
+     */
+    void add(Path path, JsonElement json) {
+        this.paths.add(path);
+        this.jsons.add(json);
+    }
+
+    /**
+     * Writes all the added files.
+     *
+     * @param gson         The {@link Gson} instance to serialize the files with.
+     * @param cache        The {@link DataCache} to check and update the hashes of the files in.
+     * @param errorHandler A handler for files that couldn't be written.
+     */
+    void writeAll(Gson gson, DataCache cache, BiConsumer<Path, IOException> errorHandler) {
+        List<Path> paths = this.paths;
+        List<JsonElement> jsons = this.jsons;
+        int count = paths.size();
+        List<CompletableFuture<Serialized>> serializing = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            JsonElement json = jsons.get(i);
+            serializing.add(CompletableFuture.supplyAsync(() -> {
+                String content = gson.toJson(json);
+                return new Serialized(content, SHA1.hashUnencodedChars(content).toString());
+            }, Util.getMainWorkerExecutor()));
+        }
+
+        Serialized[] serialized = new Serialized[count];
+        List<CompletableFuture<IOException>> writing = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Path path = paths.get(i);
+            Serialized file = serialized[i] = serializing.get(i).join();
+            if (Objects.equals(cache.getOldSha1(path), file.hash()) && Files.exists(path)) {
+                writing.add(null);
+            } else {
+                writing.add(CompletableFuture.supplyAsync(() -> write(path, file.content()), Util.getMainWorkerExecutor()));
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<IOException> write = writing.get(i);
+            IOException exception = write == null ? null : write.join();
+            if (exception != null) {
+                errorHandler.accept(paths.get(i), exception);
+            } else {
+                cache.updateSha1(paths.get(i), serialized[i].hash());
+            }
+        }
+        paths.clear();
+        jsons.clear();
+    }
+
+    private static IOException write(Path path, String content) {
+        try {
+            Files.createDirectories(path.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+                writer.write(content);
+            }
+            return null;
+        } catch (IOException exception) {
+            return exception;
+        }
+    }
+
+    private record Serialized(String content, String hash) {}
+}
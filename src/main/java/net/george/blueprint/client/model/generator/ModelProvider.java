@@ -11,7 +11,6 @@ import net.minecraft.data.DataProvider;
 import net.minecraft.resource.ResourceType;
 import net.minecraft.util.Identifier;
 
-import java.io.IOException;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
@@ -30,6 +29,7 @@ public abstract class ModelProvider<T extends ModelBuilder<T>> implements DataPr
     protected static final ModdedResourceType MODEL_WITH_EXTENSION = new ModdedResourceType(ResourceType.CLIENT_RESOURCES, "", "models");
 
     private static final Gson GSON = (new GsonBuilder()).setPrettyPrinting().create();
+    private static final Gson COMPACT_GSON = (new GsonBuilder()).create();
     protected final DataGenerator generator;
     protected final String modid;
     protected final String folder;
@@ -349,15 +349,24 @@ public abstract class ModelProvider<T extends ModelBuilder<T>> implements DataPr
         generateAll(cache);
     }
 
+    /**
+     * Checks if generated models should be written without pretty printing.
+     * <p>Compact files are smaller and faster to write, but harder to read.</p>
+     *
+     * @return If generated models should be written without pretty printing.
+     */
+    protected boolean useCompactOutput() {
+        return false;
+    }
+
     protected void generateAll(DataCache cache) {
+        GeneratedJsonWriter writer = new GeneratedJsonWriter();
         for (T model : this.generatedModels.values()) {
-            Path target = getPath(model);
-            try {
-                DataProvider.writeToPath(GSON, cache, model.toJson(), target);
-            } catch (IOException exception) {
-                throw new RuntimeException(exception);
-            }
+            writer.add(getPath(model), model.toJson());
         }
+        writer.writeAll(useCompactOutput() ? COMPACT_GSON : GSON, cache, (path, exception) -> {
+            throw new RuntimeException(exception);
+        });
     }
 
     private Path getPath(T model) {
@@ -7,6 +7,7 @@ import net.george.blueprint.client.model.SlabfishHatModel;
 import net.george.blueprint.common.world.storage.tracking.IDataManager;
 import net.george.blueprint.core.Blueprint;
 import net.george.blueprint.core.sonar.OnlineImageCache;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.model.ModelPart;
 import net.minecraft.client.network.AbstractClientPlayerEntity;
 import net.minecraft.client.render.OverlayTexture;
@@ -15,9 +16,16 @@ import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.render.entity.PlayerEntityRenderer;
 import net.minecraft.client.render.entity.feature.FeatureRenderer;
 import net.minecraft.client.render.entity.model.PlayerEntityModel;
+import net.minecraft.client.texture.MissingSprite;
+import net.minecraft.client.texture.NativeImageBackedTexture;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
 
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,7 +35,10 @@ import java.util.concurrent.TimeUnit;
 @Environment(EnvType.CLIENT)
 public class SlabfishHatRenderLayer extends FeatureRenderer<AbstractClientPlayerEntity, PlayerEntityModel<AbstractClientPlayerEntity>> {
     public static OnlineImageCache REWARD_CACHE = new OnlineImageCache(Blueprint.MOD_ID, 1, TimeUnit.DAYS);
+    // Textures are requested again well within the 30 second lifetime of unused textures in the cache
+    private static final long REFRESH_INTERVAL = 10000L;
     private final SlabfishHatModel model;
+    private final Map<AbstractClientPlayerEntity, HatState> states = new WeakHashMap<>();
 
     public SlabfishHatRenderLayer(PlayerEntityRenderer renderer) {
         super(renderer);
@@ -44,24 +55,26 @@ public class SlabfishHatRenderLayer extends FeatureRenderer<AbstractClientPlayer
         if (slabfishProperties == null)
             return;
 
-        String defaultTypeUrl = slabfishProperties.getDefaultTypeUrl();
-        IDataManager data = (IDataManager) entity;
-
-        if (entity.isInvisible() || entity.isSpectator() || !(RewardHandler.SlabfishSetting.getSetting(data, RewardHandler.SlabfishSetting.ENABLED)) || defaultTypeUrl == null || !RewardHandler.REWARDS.containsKey(entity.getUuid()))
+        byte settings = ((IDataManager) entity).getValue(Blueprint.SLABFISH_SETTINGS);
+        if (entity.isInvisible() || entity.isSpectator() || !RewardHandler.SlabfishSetting.getSetting(settings, RewardHandler.SlabfishSetting.ENABLED) || slabfishProperties.getDefaultTypeUrl() == null)
             return;
 
         RewardHandler.RewardData reward = RewardHandler.REWARDS.get(entity.getUuid());
-
-        if (reward.getSlabfish() == null || reward.getTier() < 2)
+        if (reward == null || reward.getSlabfish() == null || reward.getTier() < 2) {
+            this.states.remove(entity);
             return;
+        }
 
-        RewardHandler.RewardData.SlabfishData slabfish = reward.getSlabfish();
-        Identifier typeLocation = REWARD_CACHE.requestTexture(reward.getTier() >= 4 && slabfish.getTypeUrl() != null && RewardHandler.SlabfishSetting.getSetting(data, RewardHandler.SlabfishSetting.TYPE) ? slabfish.getTypeUrl() : defaultTypeUrl).getNow(null);
+        HatState state = this.states.computeIfAbsent(entity, key -> new HatState());
+        state.update(reward, slabfishProperties, settings);
+        //The hat isn't rendered until its type texture has loaded, and the sweater and backpack are left out until theirs have
+        Identifier typeLocation = state.getTypeLocation();
         if (typeLocation == null)
             return;
 
-        Identifier sweaterLocation = reward.getTier() >= 3 && slabfish.getSweaterUrl() != null && RewardHandler.SlabfishSetting.getSetting(data, RewardHandler.SlabfishSetting.SWEATER) ? REWARD_CACHE.requestTexture(slabfish.getSweaterUrl()).getNow(null) : null;
-        Identifier backpackLocation = slabfish.getBackpackUrl() != null && RewardHandler.SlabfishSetting.getSetting(data, RewardHandler.SlabfishSetting.BACKPACK) ? REWARD_CACHE.requestTexture(slabfish.getBackpackUrl()).getNow(null) : null;
+        RewardHandler.RewardData.SlabfishData slabfish = reward.getSlabfish();
+        Identifier sweaterLocation = state.getSweaterLocation();
+        Identifier backpackLocation = state.getBackpackLocation();
         ModelPart body = this.model.body;
         ModelPart backpack = this.model.backpack;
 
@@ -76,4 +89,62 @@ public class SlabfishHatRenderLayer extends FeatureRenderer<AbstractClientPlayer
             backpack.render(matrices, vertexConsumers.getBuffer(RenderLayer.getEntityCutout(backpackLocation)), light, OverlayTexture.DEFAULT_UV);
         }
     }
+
+    /**
+     * The resolved hat textures of a player, which only get requested from {@link #REWARD_CACHE} again when the player's reward data or settings change.
+     * <p>Textures are also requested again every {@link #REFRESH_INTERVAL} milliseconds, so {@link #REWARD_CACHE} keeps them loaded while they're being rendered.</p>
+     * <p>Textures {@link #REWARD_CACHE} deleted before then, like when it went over its byte budget, get requested again right away instead of being bound.</p>
+     */
+    private static final class HatState {
+        private RewardHandler.RewardData reward;
+        private RewardHandler.RewardProperties.SlabfishProperties properties;
+        private byte settings;
+        private long refreshTime;
+        @Nullable
+        private CompletableFuture<Identifier> type;
+        @Nullable
+        private CompletableFuture<Identifier> sweater;
+        @Nullable
+        private CompletableFuture<Identifier> backpack;
+
+        private void update(RewardHandler.RewardData reward, RewardHandler.RewardProperties.SlabfishProperties properties, byte settings) {
+            long time = Util.getMeasuringTimeMs();
+            if (reward == this.reward && properties == this.properties && settings == this.settings && time < this.refreshTime && !this.hasDestroyedTexture())
+                return;
+
+            this.reward = reward;
+            this.properties = properties;
+            this.settings = settings;
+            this.refreshTime = time + REFRESH_INTERVAL;
+            RewardHandler.RewardData.SlabfishData slabfish = reward.getSlabfish();
+            this.type = REWARD_CACHE.requestTexture(reward.getTier() >= 4 && slabfish.getTypeUrl() != null && RewardHandler.SlabfishSetting.getSetting(settings, RewardHandler.SlabfishSetting.TYPE) ? slabfish.getTypeUrl() : properties.getDefaultTypeUrl());
+            this.sweater = reward.getTier() >= 3 && slabfish.getSweaterUrl() != null && RewardHandler.SlabfishSetting.getSetting(settings, RewardHandler.SlabfishSetting.SWEATER) ? REWARD_CACHE.requestTexture(slabfish.getSweaterUrl()) : null;
+            this.backpack = slabfish.getBackpackUrl() != null && RewardHandler.SlabfishSetting.getSetting(settings, RewardHandler.SlabfishSetting.BACKPACK) ? REWARD_CACHE.requestTexture(slabfish.getBackpackUrl()) : null;
+        }
+
+        private boolean hasDestroyedTexture() {
+            return isDestroyed(this.type) || isDestroyed(this.sweater) || isDestroyed(this.backpack);
+        }
+
+        //Binding a destroyed texture would make the texture manager register a broken texture in its place
+        private static boolean isDestroyed(@Nullable CompletableFuture<Identifier> future) {
+            Identifier location = future == null ? null : future.getNow(null);
+            return location != null && !location.equals(MissingSprite.getMissingSpriteId()) && !(MinecraftClient.getInstance().getTextureManager().getOrDefault(location, null) instanceof NativeImageBackedTexture);
+        }
+
+        @Nullable
+        private Identifier getTypeLocation() {
+            return this.type == null ? null : this.type.getNow(null);
+        }
+
+        @Nullable
+        private Identifier getSweaterLocation() {
+            return this.sweater == null ? null : this.sweater.getNow(null);
+        }
+
+        @Nullable
+        private Identifier getBackpackLocation() {
+            return this.backpack == null ? null : this.backpack.getNow(null);
+        }
+    }
 }
@@ -12,6 +12,7 @@ import net.minecraft.client.network.ClientPlayNetworkHandler;
 import net.minecraft.entity.Entity;
 import net.minecraft.network.PacketByteBuf;
 
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -21,23 +22,23 @@ import java.util.Set;
  */
 public final class MessageS2CUpdateEntityData implements S2CPacket {
     private final int entityId;
-    private final Set<IDataManager.DataEntry<?>> entries;
+    private final Collection<IDataManager.DataEntry<?>> entries;
 
-    public MessageS2CUpdateEntityData(int entityId, Set<IDataManager.DataEntry<?>> entries) {
+    public MessageS2CUpdateEntityData(int entityId, Collection<IDataManager.DataEntry<?>> entries) {
         this.entityId = entityId;
         this.entries = entries;
     }
 
     @Override
     public void encode(PacketByteBuf buf) {
-        buf.writeInt(this.entityId);
-        buf.writeInt(this.entries.size());
+        buf.writeVarInt(this.entityId);
+        buf.writeVarInt(this.entries.size());
         this.entries.forEach(entry -> entry.write(buf));
     }
 
     public static MessageS2CUpdateEntityData decode(PacketByteBuf buf) {
-        int entityId = buf.readInt();
-        int size = buf.readInt();
+        int entityId = buf.readVarInt();
+        int size = buf.readVarInt();
         Set<IDataManager.DataEntry<?>> entries = Sets.newHashSet();
         for (int i = 0; i < size; i++) {
             entries.add(IDataManager.DataEntry.read(buf));
@@ -47,12 +48,18 @@ public final class MessageS2CUpdateEntityData implements S2CPacket {
 
     @Override
     public void handle(MinecraftClient client, ClientPlayNetworkHandler listener, PacketSender responseSender, SimpleChannel channel) {
-        client.execute(() -> {
-            Entity entity = ClientInfo.getClientPlayerWorld().getEntityById(this.entityId);
-            if (entity instanceof IDataManager) {
-                this.entries.forEach(dataEntry -> setTrackedValue(entity, dataEntry));
-            }
-        });
+        client.execute(this::apply);
+    }
+
+    /**
+     * Applies the entries of this message to its entity in the client world.
+     * <p>This must be called on the client thread.</p>
+     */
+    public void apply() {
+        Entity entity = ClientInfo.getClientPlayerWorld().getEntityById(this.entityId);
+        if (entity instanceof IDataManager) {
+            this.entries.forEach(dataEntry -> setTrackedValue(entity, dataEntry));
+        }
     }
 
     private static <T> void setTrackedValue(Entity entity, IDataManager.DataEntry<T> entry) {
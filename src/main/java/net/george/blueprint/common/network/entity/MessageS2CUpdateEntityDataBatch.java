@@ -0,0 +1,63 @@
+package net.george.blueprint.common.network.entity;
+
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.george.blueprint.common.world.storage.tracking.TrackedDataBatcher;
+import net.george.blueprint.core.api.network.SimpleChannel;
+import net.george.blueprint.core.api.network.packet.S2CPacket;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.network.PacketByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The message for updating the tracked data of many entities on a client at once.
+ * <p>Each update is encoded the same way as a {@link MessageS2CUpdateEntityData}.</p>
+ *
+ * @author Mr.George
+ * @see TrackedDataBatcher
+ */
+public final class MessageS2CUpdateEntityDataBatch implements S2CPacket {
+    private final int size;
+    private final PacketByteBuf encodedUpdates;
+    private final List<MessageS2CUpdateEntityData> updates;
+
+    /**
+     * Creates a batch from updates that have already been encoded.
+     *
+     * @param size           The amount of encoded updates.
+     * @param encodedUpdates The encoded updates.
+     */
+    public MessageS2CUpdateEntityDataBatch(int size, PacketByteBuf encodedUpdates) {
+        this.size = size;
+        this.encodedUpdates = encodedUpdates;
+        this.updates = List.of();
+    }
+
+    private MessageS2CUpdateEntityDataBatch(List<MessageS2CUpdateEntityData> updates) {
+        this.size = updates.size();
+        this.encodedUpdates = null;
+        this.updates = updates;
+    }
+
+    @Override
+    public void encode(PacketByteBuf buf) {
+        buf.writeVarInt(this.size);
+        buf.writeBytes(this.encodedUpdates, this.encodedUpdates.readerIndex(), this.encodedUpdates.readableBytes());
+    }
+
+    public static MessageS2CUpdateEntityDataBatch decode(PacketByteBuf buf) {
+        int size = buf.readVarInt();
+        List<MessageS2CUpdateEntityData> updates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            updates.add(MessageS2CUpdateEntityData.decode(buf));
+        }
+        return new MessageS2CUpdateEntityDataBatch(updates);
+    }
+
+    @Override
+    public void handle(MinecraftClient client, ClientPlayNetworkHandler listener, PacketSender responseSender, SimpleChannel channel) {
+        client.execute(() -> this.updates.forEach(MessageS2CUpdateEntityData::apply));
+    }
+}
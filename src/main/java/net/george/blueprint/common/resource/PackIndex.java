@@ -0,0 +1,272 @@
+package net.george.blueprint.common.resource;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * An immutable index of the files in one or more pack roots, used by {@link PathResourcePack}.
+ * <p>Roots are indexed in order and the first root containing a file owns it, so looking up a file never touches the file system.</p>
+ * <p>Namespaces and their files get listed from the first root containing their directory, like walking a directory resolved through the roots would.</p>
+ * <p>The files of each namespace are kept sorted by path, so the files under a prefix are one contiguous range.</p>
+ * <p>Only the resource directories get indexed, so files like pack.mcmeta at the root of a pack need to be looked up directly, see {@link #covers(String)}.</p>
+ * <p>Namespaces and files whose names can't be part of an {@link Identifier} are left out of the index, so they can neither be listed, found, nor opened.</p>
+ *
+ * @author Mr.George
+ */
+final class PackIndex {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private final List<Path> roots;
+    private final Object2IntOpenHashMap<String> files;
+    private final Map<ResourceType, Map<String, NamespaceFiles>> namespaces;
+    private final Map<ResourceType, Set<String>> namespaceNames;
+    private final Set<ResourceType> presentTypes;
+
+    private PackIndex(List<Path> roots, Object2IntOpenHashMap<String> files, Map<ResourceType, Map<String, NamespaceFiles>> namespaces, Map<ResourceType, Set<String>> namespaceNames, Set<ResourceType> presentTypes) {
+        this.roots = roots;
+        this.files = files;
+        this.namespaces = namespaces;
+        this.namespaceNames = namespaceNames;
+        this.presentTypes = presentTypes;
+    }
+
+    /**
+     * Builds a {@link PackIndex} by walking the resource directories of some roots.
+     *
+     * @param roots The roots to index, in order of priority.
+     * @return A new {@link PackIndex} of the files in the roots.
+     */
+    static PackIndex build(List<Path> roots) {
+        Object2IntOpenHashMap<String> files = new Object2IntOpenHashMap<>();
+        files.defaultReturnValue(-1);
+        Map<ResourceType, Map<String, List<String>>> namespacePaths = new EnumMap<>(ResourceType.class);
+        Map<ResourceType, Set<String>> namespaceNames = new EnumMap<>(ResourceType.class);
+        Set<ResourceType> presentTypes = new HashSet<>();
+        for (int rootIndex = 0; rootIndex < roots.size(); rootIndex++) {
+            Path root = roots.get(rootIndex);
+            for (ResourceType type : ResourceType.values()) {
+                Path typeRoot = root.resolve(type.getDirectory());
+                if (!Files.isDirectory(typeRoot)) {
+                    continue;
+                }
+                boolean firstTypeRoot = presentTypes.add(type);
+                Map<String, List<String>> paths = namespacePaths.computeIfAbsent(type, key -> new HashMap<>());
+                Set<String> typeNamespaces = namespaceNames.computeIfAbsent(type, key -> new HashSet<>());
+                Set<String> ownedNamespaces = new HashSet<>();
+                Set<String> invalidNamespaces = new HashSet<>();
+                try (Stream<Path> stream = Files.walk(typeRoot)) {
+                    int finalRootIndex = rootIndex;
+                    stream.forEach(path -> {
+                        Path relativePath = typeRoot.relativize(path);
+                        int nameCount = relativePath.getNameCount();
+                        String namespace = relativePath.getName(0).toString().replace("/", "");
+                        if (namespace.isEmpty() || invalidNamespaces.contains(namespace)) {
+                            return;
+                        }
+                        if (nameCount == 1) {
+                            if (!isNamespaceValid(namespace)) {
+                                LOGGER.warn("Invalid namespace in pack {}: {}, ignoring", root, namespace);
+                                invalidNamespaces.add(namespace);
+                                return;
+                            }
+                            // Only the first root with the type directory lists namespaces, and only the first root with a namespace directory lists its files
+                            if (firstTypeRoot) {
+                                typeNamespaces.add(namespace);
+                            }
+                            if (Files.isDirectory(path) && !paths.containsKey(namespace)) {
+                                paths.put(namespace, new ArrayList<>());
+                                ownedNamespaces.add(namespace);
+                            }
+                            return;
+                        }
+                        if (!Files.isRegularFile(path)) {
+                            return;
+                        }
+                        // It is VERY IMPORTANT that we do not rely on Path.toString as this is inconsistent between operating systems
+                        // Join the path names ourselves to force forward slashes
+                        StringBuilder builder = new StringBuilder();
+                        for (int i = 1; i < nameCount; i++) {
+                            if (i > 1) {
+                                builder.append('/');
+                            }
+                            builder.append(relativePath.getName(i));
+                        }
+                        String namespacePath = builder.toString();
+                        // Files whose names can't be identifiers, like .DS_Store or README.md, are skipped like vanilla packs skip them instead of failing the whole index
+                        if (!Identifier.isPathValid(namespacePath)) {
+                            LOGGER.warn("Invalid path in pack {}: {}:{}, ignoring", root, namespace, namespacePath);
+                            return;
+                        }
+                        if (files.putIfAbsent(type.getDirectory() + '/' + namespace + '/' + namespacePath, finalRootIndex) == -1 && ownedNamespaces.contains(namespace)) {
+                            paths.get(namespace).add(namespacePath);
+                        }
+                    });
+                } catch (IOException | UncheckedIOException exception) {
+                    LOGGER.warn("Failed to index {} of pack root {}", type.getDirectory(), root, exception);
+                }
+            }
+        }
+        files.trim();
+        Map<ResourceType, Map<String, NamespaceFiles>> namespaces = new EnumMap<>(ResourceType.class);
+        namespacePaths.forEach((type, paths) -> {
+            ImmutableMap.Builder<String, NamespaceFiles> builder = ImmutableMap.builder();
+            paths.forEach((namespace, namespaceFiles) -> builder.put(namespace, new NamespaceFiles(namespace, namespaceFiles)));
+            namespaces.put(type, builder.build());
+        });
+        Map<ResourceType, Set<String>> immutableNamespaceNames = new EnumMap<>(ResourceType.class);
+        namespaceNames.forEach((type, names) -> immutableNamespaceNames.put(type, ImmutableSet.copyOf(names)));
+        return new PackIndex(List.copyOf(roots), files, namespaces, immutableNamespaceNames, ImmutableSet.copyOf(presentTypes));
+    }
+
+    // Namespace directories like .DS_Store can't be identifiers either, so they are skipped along with their files
+    private static boolean isNamespaceValid(String namespace) {
+        return Identifier.tryParse(namespace + ':') != null;
+    }
+
+    /**
+     * Checks if a file would be in an index if it exists, meaning it is inside the directory of a {@link ResourceType}.
+     *
+     * @param name A slash-separated path relative to the pack roots.
+     * @return If a file would be in an index if it exists.
+     */
+    static boolean covers(String name) {
+        for (ResourceType type : ResourceType.values()) {
+            String directory = type.getDirectory();
+            if (name.length() > directory.length() && name.charAt(directory.length()) == '/' && name.startsWith(directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the path of a file in this index.
+     *
+     * @param name A slash-separated path relative to the pack roots.
+     * @return The path of the file in the root that owns it, or null if no root contains it.
+     */
+    @Nullable
+    Path getPath(String name) {
+        int rootIndex = this.files.getInt(name);
+        return rootIndex < 0 ? null : this.roots.get(rootIndex).resolve(name);
+    }
+
+    /**
+     * Checks if a file is in this index.
+     *
+     * @param name A slash-separated path relative to the pack roots.
+     * @return If a file is in this index.
+     */
+    boolean contains(String name) {
+        return this.files.containsKey(name);
+    }
+
+    /**
+     * Gets the namespaces of a {@link ResourceType} in this index.
+     *
+     * @param type A {@link ResourceType} to get the namespaces for.
+     * @return The namespaces of a {@link ResourceType} in this index.
+     */
+    Set<String> getNamespaces(ResourceType type) {
+        return this.namespaceNames.getOrDefault(type, Set.of());
+    }
+
+    /**
+     * Checks if any root of this index has a directory for a {@link ResourceType}.
+     *
+     * @param type A {@link ResourceType} to check.
+     * @return If any root of this index has a directory for the {@link ResourceType}.
+     */
+    boolean hasType(ResourceType type) {
+        return this.presentTypes.contains(type);
+    }
+
+    /**
+     * Finds the resources in a namespace like {@link net.minecraft.resource.ResourcePack#findResources(ResourceType, String, String, int, Predicate)}.
+     *
+     * @param type       The {@link ResourceType} of the resources.
+     * @param namespace  The namespace of the resources.
+     * @param prefix     The path prefix of the resources.
+     * @param maxDepth   The max amount of path elements of the resources.
+     * @param pathFilter A filter for the file names of the resources.
+     * @return A list of the matching resources.
+     */
+    List<Identifier> findResources(ResourceType type, String namespace, String prefix, int maxDepth, Predicate<String> pathFilter) {
+        Map<String, NamespaceFiles> namespaces = this.namespaces.get(type);
+        NamespaceFiles namespaceFiles = namespaces == null ? null : namespaces.get(namespace);
+        return namespaceFiles == null ? List.of() : namespaceFiles.find(prefix, maxDepth, pathFilter);
+    }
+
+    private static final class NamespaceFiles {
+        private final String[] paths;
+        private final Identifier[] identifiers;
+        private final int[] depths;
+
+        private NamespaceFiles(String namespace, List<String> paths) {
+            String[] sortedPaths = paths.toArray(new String[0]);
+            Arrays.sort(sortedPaths);
+            int count = sortedPaths.length;
+            Identifier[] identifiers = new Identifier[count];
+            int[] depths = new int[count];
+            for (int i = 0; i < count; i++) {
+                String path = sortedPaths[i];
+                identifiers[i] = new Identifier(namespace, path);
+                int depth = 1;
+                for (int j = path.indexOf('/'); j != -1; j = path.indexOf('/', j + 1)) {
+                    depth++;
+                }
+                depths[i] = depth;
+            }
+            this.paths = sortedPaths;
+            this.identifiers = identifiers;
+            this.depths = depths;
+        }
+
+        private List<Identifier> find(String prefix, int maxDepth, Predicate<String> pathFilter) {
+            String[] paths = this.paths;
+            int start = prefix.isEmpty() ? 0 : Arrays.binarySearch(paths, prefix);
+            if (start < 0) {
+                start = -start - 1;
+            }
+            List<Identifier> found = new ArrayList<>();
+            int prefixLength = prefix.length();
+            for (int i = start; i < paths.length; i++) {
+                String path = paths[i];
+                if (!path.startsWith(prefix)) {
+                    break;
+                }
+                // Prefixes match whole path elements, so "textures" doesn't match "textures_extra/..."
+                if (prefixLength > 0 && path.length() > prefixLength && path.charAt(prefixLength) != '/' && prefix.charAt(prefixLength - 1) != '/') {
+                    continue;
+                }
+                if (this.depths[i] > maxDepth || path.endsWith(".mcmeta")) {
+                    continue;
+                }
+                if (pathFilter.test(path.substring(path.lastIndexOf('/') + 1))) {
+                    found.add(this.identifiers[i]);
+                }
+            }
+            return found;
+        }
+    }
+}
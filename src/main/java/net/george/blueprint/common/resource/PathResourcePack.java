@@ -4,16 +4,21 @@ import com.google.common.base.Joiner;
 import net.minecraft.resource.AbstractFileResourcePack;
 import net.minecraft.resource.ResourceType;
 import net.minecraft.util.Identifier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -26,8 +31,12 @@ import java.util.stream.Collectors;
  * alternative recipes for compatibility ot to replace vanilla recipes.
  */
 public class PathResourcePack extends AbstractFileResourcePack {
+    private static final Logger LOGGER = LogManager.getLogger();
     private final Path source;
     private final String packName;
+    @Nullable
+    private volatile PackIndex index;
+    private volatile boolean indexCreated;
 
     /**
      * Constructs a java.nio.Path-based resource pack.
@@ -74,10 +83,58 @@ public class PathResourcePack extends AbstractFileResourcePack {
         return path;
     }
 
+    /**
+     * Creates the index of the files in this pack.
+     * <p>Returns null to make this pack look files up through {@link #resolve(String...)} each time instead.</p>
+     *
+     * @return A new {@link PackIndex} of the files in this pack, or null if this pack shouldn't be indexed.
+     */
+    @Nullable
+    PackIndex createIndex() {
+        return PackIndex.build(List.of(getSource()));
+    }
+
+    /**
+     * Gets the index of the files in this pack, building it the first time it's needed.
+     * <p>If building the index fails, this pack looks files up through {@link #resolve(String...)} from then on instead of building it again on every lookup.</p>
+     *
+     * @return The index of the files in this pack, or null if this pack isn't indexed.
+     */
+    @Nullable
+    PackIndex getIndex() {
+        if (!this.indexCreated) {
+            synchronized (this) {
+                if (!this.indexCreated) {
+                    try {
+                        this.index = this.createIndex();
+                    } catch (RuntimeException exception) {
+                        LOGGER.error("Failed to index pack {}, looking its files up directly instead", this.packName, exception);
+                    }
+                    this.indexCreated = true;
+                }
+            }
+        }
+        return this.index;
+    }
+
+    /**
+     * Gets the index of the files in this pack if it covers a file.
+     * <p>Files outside the resource directories, like pack.mcmeta and pack.png, never get indexed and need to be looked up through {@link #resolve(String...)}.</p>
+     *
+     * @param name A slash-separated path relative to the root of this pack.
+     * @return The index of the files in this pack, or null if this pack isn't indexed or the index doesn't cover the file.
+     */
+    @Nullable
+    private PackIndex getIndexFor(String name) {
+        return PackIndex.covers(name) ? getIndex() : null;
+    }
+
     @Override
     protected InputStream openFile(String name) throws IOException {
-        final Path path = resolve(name);
-        if (!Files.exists(path)) {
+        PackIndex index = getIndexFor(name);
+        final Path path = index != null ? index.getPath(name) : resolve(name);
+        // Indexed files are known to exist, so only unindexed paths need checking
+        if (path == null || (index == null && !Files.exists(path))) {
             throw new FileNotFoundException("Can't find resource " + name + " at " + getSource());
         }
         return Files.newInputStream(path, StandardOpenOption.READ);
@@ -85,6 +142,10 @@ public class PathResourcePack extends AbstractFileResourcePack {
 
     @Override
     protected boolean containsFile(String name) {
+        PackIndex index = getIndexFor(name);
+        if (index != null) {
+            return index.contains(name);
+        }
         final Path path = resolve(name);
         return Files.exists(path);
     }
@@ -92,6 +153,10 @@ public class PathResourcePack extends AbstractFileResourcePack {
     @SuppressWarnings("resource")
     @Override
     public Collection<Identifier> findResources(ResourceType type, String namespace, String prefix, int maxDepth, Predicate<String> pathFilter) {
+        PackIndex index = getIndex();
+        if (index != null) {
+            return index.findResources(type, namespace, prefix, maxDepth, pathFilter);
+        }
         try {
             Path root = resolve(type.getDirectory(), namespace).toAbsolutePath();
             Path inputPath = root.getFileSystem().getPath(prefix);
@@ -113,6 +178,13 @@ public class PathResourcePack extends AbstractFileResourcePack {
     @SuppressWarnings("resource")
     @Override
     public Set<String> getNamespaces(ResourceType type) {
+        PackIndex index = getIndex();
+        if (index != null) {
+            if (!index.hasType(type) && type == ResourceType.SERVER_DATA) {
+                return this.getNamespaces(ResourceType.CLIENT_RESOURCES);
+            }
+            return index.getNamespaces(type);
+        }
         try {
             Path root = resolve(type.getDirectory());
             return Files.walk(root,1)
@@ -151,6 +223,13 @@ public class PathResourcePack extends AbstractFileResourcePack {
 
     @Override
     public void close() {
+        // Packs outside of jars can change between reloads, like in development environments, so their index gets rebuilt the next time it's needed
+        if (getSource().getFileSystem() == FileSystems.getDefault()) {
+            synchronized (this) {
+                this.index = null;
+                this.indexCreated = false;
+            }
+        }
     }
 
     @Override
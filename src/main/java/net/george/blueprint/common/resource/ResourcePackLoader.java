@@ -9,18 +9,25 @@ import net.minecraft.resource.ResourcePack;
 import net.minecraft.resource.ResourcePackManager;
 import net.minecraft.resource.ResourcePackProfile;
 import net.minecraft.resource.ResourcePackProvider;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
+import javax.annotation.Nullable;
+import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @SuppressWarnings("unused")
 public class ResourcePackLoader {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final ModsIndex MODS_INDEX = new ModsIndex(() -> FabricLoader.getInstance().getAllMods());
     private static Map<ModContainer, PathResourcePack> modResourcePacks;
     private static int index = 0;
 
@@ -46,26 +53,39 @@ public class ResourcePackLoader {
         resourcePacks.providers.add(packFinder.apply(modResourcePacks));
     }
 
-    @SuppressWarnings("deprecation")
     public static @NotNull ResourcePack createPackForMod(final ModContainer mod) {
+        return createPackForMod(mod, MODS_INDEX);
+    }
+
+    @SuppressWarnings("deprecation")
+    static PathResourcePack createPackForMod(final ModContainer mod, final ModsIndex modsIndex) {
         return new PathResourcePack(mod.getMetadata().getName(), mod.getRootPath()) {
             protected @NotNull Path resolve(String... paths) {
                 if (paths.length < 1) {
                     throw new IllegalArgumentException("Missing path");
                 } else {
                     String path = String.join("/", paths);
-                    Iterator<ModContainer> iterator = FabricLoader.getInstance().getAllMods().iterator();
-
-                    ModContainer modContainer;
-                    do {
-                        if (!iterator.hasNext()) {
-                            return mod.findPath(path).orElse(new RefPath(mod.getRootPath().getFileSystem(), ResourcePackLoader.makeKey(mod.getRootPath().getRoot()), path));
-                        }
+                    PackIndex index = modsIndex.get();
+                    Path indexedPath = index != null ? index.getPath(path) : null;
+                    if (indexedPath != null) {
+                        return indexedPath;
+                    }
+                    // Files outside the index, like pack.mcmeta, reach this for every lookup, so only make a RefPath when the mod doesn't have the file either
+                    return mod.findPath(path).orElseGet(() -> new RefPath(mod.getRootPath().getFileSystem(), ResourcePackLoader.makeKey(mod.getRootPath().getRoot()), path));
+                }
+            }
 
-                        modContainer = iterator.next();
-                    } while (modContainer.findPath(path).isEmpty());
+            // Paths get resolved across every mod, so every mod pack shares one index of all the mods
+            @Override
+            PackIndex createIndex() {
+                return modsIndex.get();
+            }
 
-                    return modContainer.findPath(path).get();
+            @Override
+            public void close() {
+                super.close();
+                if (getSource().getFileSystem() == FileSystems.getDefault()) {
+                    modsIndex.invalidate();
                 }
             }
         };
@@ -109,4 +129,45 @@ public class ResourcePackLoader {
             }
         };
     }
+
+    /**
+     * The index of every mod's files shared by the mod packs, built the first time it's needed with mods in the same order paths were previously resolved in.
+     * <p>If building the index fails, the failure is remembered and the mod packs look their files up through their mods instead of walking every mod again on each lookup.</p>
+     */
+    static final class ModsIndex {
+        private final Supplier<? extends Collection<ModContainer>> mods;
+        @Nullable
+        private volatile PackIndex index;
+        private volatile boolean built;
+
+        ModsIndex(Supplier<? extends Collection<ModContainer>> mods) {
+            this.mods = mods;
+        }
+
+        @Nullable
+        PackIndex get() {
+            if (!this.built) {
+                synchronized (this) {
+                    if (!this.built) {
+                        try {
+                            List<Path> roots = new ArrayList<>();
+                            for (ModContainer mod : this.mods.get()) {
+                                roots.addAll(mod.getRootPaths());
+                            }
+                            this.index = PackIndex.build(roots);
+                        } catch (RuntimeException exception) {
+                            LOGGER.error("Failed to index the files of every mod, looking them up through each mod instead", exception);
+                        }
+                        this.built = true;
+                    }
+                }
+            }
+            return this.index;
+        }
+
+        synchronized void invalidate() {
+            this.index = null;
+            this.built = false;
+        }
+    }
 }
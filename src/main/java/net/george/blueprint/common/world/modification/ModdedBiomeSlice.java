@@ -15,7 +15,11 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.JsonHelper;
 import net.minecraft.util.dynamic.Codecs;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The record class for representing a weighted slice of the world that uses a {@link BiomeUtil.ModdedBiomeProvider} instance for selecting biomes.
@@ -30,6 +34,8 @@ public record ModdedBiomeSlice(Identifier name, int weight, BiomeUtil.ModdedBiom
             BiomeUtil.ModdedBiomeProvider.CODEC.fieldOf("provider").forGetter((slice) -> slice.provider))
             .apply(instance, ModdedBiomeSlice::new));
     private static final Pair<ConditionedResourceSelector, ModdedBiomeSlice> SKIPPED;
+    private static final Map<Identifier, Integer> NAME_IDS = new ConcurrentHashMap<>();
+    private static final List<Identifier> NAMES = new ArrayList<>();
 
     public ModdedBiomeSlice(Identifier name, int weight, BiomeUtil.ModdedBiomeProvider provider) {
         this.name = name;
@@ -83,6 +89,38 @@ public record ModdedBiomeSlice(Identifier name, int weight, BiomeUtil.ModdedBiom
         }
     }
 
+    /**
+     * Gets the int id for a slice name.
+     * <p>Each name gets the same id for as long as the game is running, so slice names can be compared as ints in hot paths like surface building.</p>
+     *
+     * @param name The name of a slice.
+     * @return The int id for the slice name.
+     */
+    public static int getNameId(Identifier name) {
+        Integer id = NAME_IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (NAMES) {
+            return NAME_IDS.computeIfAbsent(name, key -> {
+                NAMES.add(key);
+                return NAMES.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Gets the slice name for an int id from {@link #getNameId(Identifier)}.
+     *
+     * @param id The int id of a slice name.
+     * @return The slice name for the int id.
+     */
+    public static Identifier getName(int id) {
+        synchronized (NAMES) {
+            return NAMES.get(id);
+        }
+    }
+
     public Identifier name() {
         return this.name;
     }
@@ -0,0 +1,250 @@
+package net.george.blueprint.common.world.modification;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.biome.source.BiomeCoords;
+import net.minecraft.world.biome.source.SeedMixer;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Lays out the weighted slices of a {@link ModdedBiomeSource} on the xz plane and caches where they are.
+ * <p>Slices get picked by randomly zooming coordinates into cells and picking a weighted slice for each cell.</p>
+ * <p>Slices get cached either in regions shared by all world generation threads, or in a small cache for each thread if regions are disabled.</p>
+ *
+ * @author Mr.George
+ * @see ModdedBiomeSource
+ */
+final class ModdedBiomeSliceLayout {
+    private final ThreadLocal<SlicesCache> slicesCache = ThreadLocal.withInitial(SlicesCache::new);
+    private final int totalWeight;
+    private final WeightedSliceTable sliceTable;
+    private final int size;
+    private final long slicesSeed;
+    private final long slicesZoomSeed;
+    // The log2 of the width of slice regions in biome coordinates, or -1 if regions are disabled
+    private final int regionShift;
+    @Nullable
+    private final LoadingCache<Long, short[]> regions;
+
+    /**
+     * Creates a new layout of weighted slices.
+     *
+     * @param weights             The weights of the slices, in order.
+     * @param size                The amount of times coordinates get zoomed before picking a slice.
+     * @param slicesSeed          The seed for picking slices.
+     * @param slicesZoomSeed      The seed for zooming coordinates.
+     * @param regionSize          The width in blocks of the regions to cache slices in, or 0 or less to cache slices for each thread instead.
+     * @param regionCacheCapacity The max amount of regions to keep cached.
+     */
+    ModdedBiomeSliceLayout(int[] weights, int size, long slicesSeed, long slicesZoomSeed, int regionSize, int regionCacheCapacity) {
+        this.totalWeight = Arrays.stream(weights).sum();
+        this.sliceTable = new WeightedSliceTable(weights);
+        this.size = size;
+        this.slicesSeed = slicesSeed;
+        this.slicesZoomSeed = slicesZoomSeed;
+        if (regionSize > 0 && weights.length <= Short.MAX_VALUE) {
+            this.regionShift = Integer.numberOfTrailingZeros(MathHelper.smallestEncompassingPowerOfTwo(Math.max(1, BiomeCoords.fromBlock(regionSize))));
+            this.regions = CacheBuilder.newBuilder()
+                    .maximumSize(regionCacheCapacity)
+                    .build(CacheLoader.from(this::computeRegion));
+        } else {
+            this.regionShift = -1;
+            this.regions = null;
+        }
+    }
+
+    /**
+     * Gets the index of the slice at biome coordinates, using the caches.
+     *
+     * @param x The x biome coordinate.
+     * @param z The z biome coordinate.
+     * @return The index of the slice at the biome coordinates.
+     */
+    int getSliceIndex(int x, int z) {
+        SlicesCache slicesCache = this.slicesCache.get();
+        return this.regions != null ? slicesCache.getRegionSliceIndex(this, x, z) : slicesCache.getSliceIndex(this, x, z);
+    }
+
+    /**
+     * Computes the index of the slice at biome coordinates, skipping all caches.
+     *
+     * @param x The x biome coordinate.
+     * @param z The z biome coordinate.
+     * @return The index of the slice at the biome coordinates.
+     */
+    int getSliceIndexUncached(int x, int z) {
+        int cordX = BiomeCoords.toBlock(x);
+        int cordZ = BiomeCoords.toBlock(z);
+        long slicesZoomSeed = this.slicesZoomSeed;
+        //Randomly zooms the x and z coordinates by cutting them into cells and adding some randomness for each zoom
+        for (int i = 0; i < this.size; i++) {
+            long cell = zoom(slicesZoomSeed, cordX, cordZ);
+            cordX = ChunkPos.getPackedX(cell);
+            cordZ = ChunkPos.getPackedZ(cell);
+        }
+        //After transforming the x and z coordinates to be in a randomized cell, we generate the pseudorandom weight associated with the transformed coordinates
+        return this.sliceTable.pick(nextInt(this.slicesSeed, cordX, cordZ, this.totalWeight));
+    }
+
+    /**
+     * Computes the indices of the slices in an area of biome coordinates in one pass, skipping all caches.
+     * <p>This gives the same indices as {@link #getSliceIndexUncached(int, int)} does for each position.</p>
+     *
+     * @param x     The smallest x biome coordinate of the area.
+     * @param z     The smallest z biome coordinate of the area.
+     * @param width The width of the area along the x-axis.
+     * @param depth The depth of the area along the z-axis.
+     * @return The indices of the slices in the area, indexed by {@code localX * depth + localZ}.
+     */
+    //Does the same work as getSliceIndexUncached for a whole area, but one zoom at a time over flat coordinate arrays
+    //Neighboring positions quickly end up in the same cell, so positions matching the previous one reuse its result instead of mixing seeds again
+    int[] getSliceIndicesUncached(int x, int z, int width, int depth) {
+        int count = width * depth;
+        int[] cordXs = new int[count];
+        int[] cordZs = new int[count];
+        for (int localX = 0, i = 0; localX < width; localX++) {
+            int cordX = BiomeCoords.toBlock(x + localX);
+            for (int localZ = 0; localZ < depth; localZ++, i++) {
+                cordXs[i] = cordX;
+                cordZs[i] = BiomeCoords.toBlock(z + localZ);
+            }
+        }
+        long slicesZoomSeed = this.slicesZoomSeed;
+        for (int zoom = 0; zoom < this.size; zoom++) {
+            int lastX = 0, lastZ = 0, zoomedX = 0, zoomedZ = 0;
+            for (int i = 0; i < count; i++) {
+                int cordX = cordXs[i];
+                int cordZ = cordZs[i];
+                if (i == 0 || cordX != lastX || cordZ != lastZ) {
+                    lastX = cordX;
+                    lastZ = cordZ;
+                    long cell = zoom(slicesZoomSeed, cordX, cordZ);
+                    zoomedX = ChunkPos.getPackedX(cell);
+                    zoomedZ = ChunkPos.getPackedZ(cell);
+                }
+                cordXs[i] = zoomedX;
+                cordZs[i] = zoomedZ;
+            }
+        }
+        int[] indices = new int[count];
+        long slicesSeed = this.slicesSeed;
+        int totalWeight = this.totalWeight;
+        int lastX = 0, lastZ = 0, lastIndex = 0;
+        for (int i = 0; i < count; i++) {
+            int cordX = cordXs[i];
+            int cordZ = cordZs[i];
+            if (i == 0 || cordX != lastX || cordZ != lastZ) {
+                lastX = cordX;
+                lastZ = cordZ;
+                lastIndex = this.sliceTable.pick(nextInt(slicesSeed, cordX, cordZ, totalWeight));
+            }
+            indices[i] = lastIndex;
+        }
+        return indices;
+    }
+
+    //Computes the slice indices for a whole region, so world generation threads don't keep computing the same slices when their own caches miss
+    private short[] computeRegion(long regionKey) {
+        int shift = this.regionShift;
+        int width = 1 << shift;
+        int[] indices = this.getSliceIndicesUncached(ChunkPos.getPackedX(regionKey) << shift, ChunkPos.getPackedZ(regionKey) << shift, width, width);
+        short[] region = new short[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            region[i] = (short) indices[i];
+        }
+        return region;
+    }
+
+    //Randomly zooms the x and z coordinates once by cutting them into cells and adding some randomness, returning them packed like a ChunkPos
+    private static long zoom(long slicesZoomSeed, int cordX, int cordZ) {
+        int cellPosX = cordX & 1;
+        int cellPosZ = cordZ & 1;
+        int cellX = cordX >> 1;
+        int cellZ = cordZ >> 1;
+        if (cellPosX == 0 && cellPosZ == 0) {
+            cordX = cellX;
+            cordZ = cellZ;
+        } else if (cellPosX == 0) {
+            if (nextInt(slicesZoomSeed, cellX << 1, cellZ << 1, 2) == 0) {
+                cordZ = cellZ;
+            } else {
+                cordZ = (cordZ + 1) >> 1;
+            }
+            cordX = cellX;
+        } else if (cellPosZ == 0) {
+            if (nextInt(slicesZoomSeed, cellX << 1, cellZ << 1, 2) == 0) {
+                cordX = cellX;
+            } else {
+                cordX = (cordX + 1) >> 1;
+            }
+            cordZ = cellZ;
+        } else {
+            int offsetChoice = nextInt(slicesZoomSeed, cellX << 1, cellZ << 1, 4);
+            if (offsetChoice == 0) {
+                cordX = cellX;
+                cordZ = cellZ;
+            } else if (offsetChoice == 1) {
+                cordX = (cordX + 1) >> 1;
+                cordZ = cellZ;
+            } else if (offsetChoice == 2) {
+                cordX = cellX;
+                cordZ = (cordZ + 1) >> 1;
+            } else {
+                cordX = (cordX + 1) >> 1;
+                cordZ = (cordZ + 1) >> 1;
+            }
+        }
+        return ChunkPos.toLong(cordX, cordZ);
+    }
+
+    private static int nextInt(long seed, int x, int z, int bound) {
+        long next = SeedMixer.mixSeed(seed, x);
+        next = SeedMixer.mixSeed(next, z);
+        next = SeedMixer.mixSeed(next, x);
+        return Math.floorMod(SeedMixer.mixSeed(next, z) >> 24, bound);
+    }
+
+    //The y-axis doesn't matter for selecting slices, so we can cache our slices on the xz plane to greatly boost performance.
+    private static class SlicesCache {
+        private final long[] lastXZHashes;
+        private final int[] sliceIndices;
+        private long lastRegionKey = Long.MIN_VALUE;
+        private short[] lastRegion;
+
+        private SlicesCache() {
+            Arrays.fill(this.lastXZHashes = new long[256], -9223372036854775807L);
+            this.sliceIndices = new int[256];
+        }
+
+        //Lookups are very likely to stay in the same region, so the last region is kept to skip querying the shared cache
+        private int getRegionSliceIndex(ModdedBiomeSliceLayout layout, int x, int z) {
+            int shift = layout.regionShift;
+            long regionKey = ChunkPos.toLong(x >> shift, z >> shift);
+            short[] region = this.lastRegion;
+            if (region == null || this.lastRegionKey != regionKey) {
+                this.lastRegion = region = layout.regions.getUnchecked(regionKey);
+                this.lastRegionKey = regionKey;
+            }
+            int mask = (1 << shift) - 1;
+            return region[((x & mask) << shift) | (z & mask)];
+        }
+
+        private int getSliceIndex(ModdedBiomeSliceLayout layout, int x, int z) {
+            int xIndex = ChunkSectionPos.getLocalCoord(x);
+            int zIndex = ChunkSectionPos.getLocalCoord(z);
+            int index = 16 * xIndex + zIndex;
+            long xzHash = ChunkPos.toLong(x, z);
+            if (this.lastXZHashes[index] != xzHash) {
+                this.lastXZHashes[index] = xzHash;
+                return this.sliceIndices[index] = layout.getSliceIndexUncached(x, z);
+            }
+            return this.sliceIndices[index];
+        }
+    }
+}
@@ -70,7 +70,7 @@ public final class ModdedBiomeSlicesManager extends JsonDataLoader {
             for (Pair<ConditionedResourceSelector, ModdedBiomeSlice> unassignedSlice : unassignedSlices) {
                 ModdedBiomeSlice slice = unassignedSlice.getSecond();
                 if (slice.weight() <= 0) {
-                    return;
+                    continue;
                 }
                 unassignedSlice.getFirst().select(keySet::forEach).forEach(location -> assignedSlices.computeIfAbsent(location, id -> new ArrayList<>()).add(slice));
             }
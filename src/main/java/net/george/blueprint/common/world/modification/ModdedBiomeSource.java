@@ -2,10 +2,10 @@ package net.george.blueprint.common.world.modification;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.george.blueprint.core.BlueprintConfig;
 import net.george.blueprint.core.registry.BlueprintBiomes;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.ChunkPos;
-import net.minecraft.util.math.ChunkSectionPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.registry.Registry;
 import net.minecraft.util.registry.RegistryEntry;
@@ -31,9 +31,9 @@ public final class ModdedBiomeSource extends BiomeSource {
     ).apply(instance, biomeSource -> biomeSource));
     private final Registry<Biome> biomes;
     private final BiomeSource originalSource;
-    private final ThreadLocal<SlicesCache> slicesCache = ThreadLocal.withInitial(SlicesCache::new);
     private final ModdedBiomeSlice[] slices;
-    private final int totalWeight;
+    private final ModdedBiomeSliceLayout layout;
+    private final int[] sliceNameIds;
     private final int size;
     private final Biome originalSourceMarker;
     private final long slicesSeed;
@@ -49,7 +49,8 @@ public final class ModdedBiomeSource extends BiomeSource {
         this.biomes = biomes;
         this.originalSource = originalSource;
         this.slices = slices.toArray(new ModdedBiomeSlice[0]);
-        this.totalWeight = Stream.of(this.slices).map(ModdedBiomeSlice::weight).reduce(0, Integer::sum);
+        this.layout = new ModdedBiomeSliceLayout(Stream.of(this.slices).mapToInt(ModdedBiomeSlice::weight).toArray(), size, slicesSeed, slicesZoomSeed, BlueprintConfig.COMMON.moddedBiomeSliceRegionSize.get(), BlueprintConfig.COMMON.moddedBiomeSliceRegionCacheCapacity.get());
+        this.sliceNameIds = Stream.of(this.slices).mapToInt(slice -> ModdedBiomeSlice.getNameId(slice.name())).toArray();
         this.size = size;
         this.originalSourceMarker = biomes.getOrThrow(BlueprintBiomes.ORIGINAL_SOURCE_MARKER.getKey());
         this.slicesSeed = slicesSeed;
@@ -90,59 +91,27 @@ public final class ModdedBiomeSource extends BiomeSource {
     }
 
     private ModdedBiomeSlice getSlice(int x, int z) {
-        return this.slicesCache.get().getSlice(this, x, z);
+        return this.slices[this.layout.getSliceIndex(x, z)];
     }
 
-    private ModdedBiomeSlice getSliceUncached(int x, int z) {
-        int cordX = BiomeCoords.toBlock(x);
-        int cordZ = BiomeCoords.toBlock(z);
-        long slicesZoomSeed = this.slicesZoomSeed;
-        //Randomly zooms the x and z coordinates by cutting them into cells and adding some randomness for each zoom
-        for (int i = 0; i < this.size; i++) {
-            int cellPosX = cordX & 1;
-            int cellPosZ = cordZ & 1;
-            int cellX = cordX >> 1;
-            int cellZ = cordZ >> 1;
-            if (cellPosX == 0 && cellPosZ == 0) {
-                cordX = cellX;
-                cordZ = cellZ;
-            } else if (cellPosX == 0) {
-                if (nextInt(slicesZoomSeed, cellX << 1, cellZ << 1, 2) == 0) {
-                    cordZ = cellZ;
-                } else {
-                    cordZ = (cordZ + 1) >> 1;
-                }
-                cordX = cellX;
-            } else if (cellPosZ == 0) {
-                if (nextInt(slicesZoomSeed, cellX << 1, cellZ << 1, 2) == 0) {
-                    cordX = cellX;
-                } else {
-                    cordX = (cordX + 1) >> 1;
-                }
-                cordZ = cellZ;
-            } else {
-                int offsetChoice = nextInt(slicesZoomSeed, cellX << 1, cellZ << 1, 4);
-                if (offsetChoice == 0) {
-                    cordX = cellX;
-                    cordZ = cellZ;
-                } else if (offsetChoice == 1) {
-                    cordX = (cordX + 1) >> 1;
-                    cordZ = cellZ;
-                } else if (offsetChoice == 2) {
-                    cordX = cellX;
-                    cordZ = (cordZ + 1) >> 1;
-                } else {
-                    cordX = (cordX + 1) >> 1;
-                    cordZ = (cordZ + 1) >> 1;
-                }
-            }
-        }
-        //After transforming the x and z coordinates to be in a randomized cell, we generate the pseudorandom weight associated with the transformed coordinates
-        int randomWeight = nextInt(this.slicesSeed, cordX, cordZ, this.totalWeight);
-        for (ModdedBiomeSlice slice : this.slices) {
-            if ((randomWeight -= slice.weight()) < 0) return slice;
+    /**
+     * Computes the {@link ModdedBiomeSlice} instances for an area of biome coordinates in one pass, skipping all caches.
+     * <p>This gives the same slices as looking up each position on its own, but is much faster for large areas like chunks or regions.</p>
+     *
+     * @param x     The smallest x coordinate of the area.
+     * @param z     The smallest z coordinate of the area.
+     * @param width The width of the area along the x-axis.
+     * @param depth The depth of the area along the z-axis.
+     * @return An array of the {@link ModdedBiomeSlice} instances in the area, indexed by {@code localX * depth + localZ}.
+     */
+    public ModdedBiomeSlice[] getSlices(int x, int z, int width, int depth) {
+        int[] indices = this.layout.getSliceIndicesUncached(x, z, width, depth);
+        ModdedBiomeSlice[] slices = this.slices;
+        ModdedBiomeSlice[] areaSlices = new ModdedBiomeSlice[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            areaSlices[i] = slices[indices[i]];
         }
-        return this.slices[0];
+        return areaSlices;
     }
 
     /**
@@ -156,6 +125,23 @@ public final class ModdedBiomeSource extends BiomeSource {
      */
     //Vanilla applies a zoom when getting noise biomes, and we must account for this in ModdednessSliceConditionSource
     public ModdedBiomeSlice getSliceWithVanillaZoom(int x, int y, int z) {
+        return this.slices[this.getSliceIndexWithVanillaZoom(x, y, z)];
+    }
+
+    /**
+     * Gets the {@link ModdedBiomeSlice#getNameId(Identifier)} name id of the {@link ModdedBiomeSlice} instance at given x, y, and z coordinates after it has been zoomed by vanilla's {@link BiomeAccess}.
+     * <p>This is the same as getting the name id of {@link #getSliceWithVanillaZoom(int, int, int)}, but it skips looking up the name id.</p>
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @return The name id of the {@link ModdedBiomeSlice} instance at given x, y, and z coordinates after it has been zoomed by vanilla's {@link BiomeAccess}.
+     */
+    public int getSliceNameIdWithVanillaZoom(int x, int y, int z) {
+        return this.sliceNameIds[this.getSliceIndexWithVanillaZoom(x, y, z)];
+    }
+
+    private int getSliceIndexWithVanillaZoom(int x, int y, int z) {
         int i = x - 2;
         int j = y - 2;
         int k = z - 2;
@@ -187,7 +173,7 @@ public final class ModdedBiomeSource extends BiomeSource {
 
         int l2 = (k1 & 4) == 0 ? l : l + 1;
         int j3 = (k1 & 1) == 0 ? j1 : j1 + 1;
-        return this.getSlice(l2, j3);
+        return this.layout.getSliceIndex(l2, j3);
     }
 
     private static double getFiddledDistance(long l, int i, int j, int k, double d, double e, double f) {
@@ -209,34 +195,4 @@ public final class ModdedBiomeSource extends BiomeSource {
         double d0 = (double) Math.floorMod(l >> 24, 1024) / 1024.0D;
         return (d0 - 0.5D) * 0.9D;
     }
-
-    private static int nextInt(long seed, int x, int z, int bound) {
-        long next = SeedMixer.mixSeed(seed, x);
-        next = SeedMixer.mixSeed(next, z);
-        next = SeedMixer.mixSeed(next, x);
-        return Math.floorMod(SeedMixer.mixSeed(next, z) >> 24, bound);
-    }
-
-    //The y-axis doesn't matter for selecting slices, so we can cache our slices on the xz plane to greatly boost performance.
-    private static class SlicesCache {
-        private final long[] lastXZHashes;
-        private final ModdedBiomeSlice[] slices;
-
-        private SlicesCache() {
-            Arrays.fill(this.lastXZHashes = new long[256], -9223372036854775807L);
-            this.slices = new ModdedBiomeSlice[256];
-        }
-
-        private ModdedBiomeSlice getSlice(ModdedBiomeSource biomeSource, int x, int z) {
-            int xIndex = ChunkSectionPos.getLocalCoord(x);
-            int zIndex = ChunkSectionPos.getLocalCoord(z);
-            int index = 16 * xIndex + zIndex;
-            long xzHash = ChunkPos.toLong(x, z);
-            if (this.lastXZHashes[index] != xzHash) {
-                this.lastXZHashes[index] = xzHash;
-                return this.slices[index] = biomeSource.getSliceUncached(x, z);
-            }
-            return this.slices[index];
-        }
-    }
 }
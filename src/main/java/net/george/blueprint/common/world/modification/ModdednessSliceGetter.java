@@ -24,4 +24,11 @@ public interface ModdednessSliceGetter {
      * @return The name of a modded provider at the current position.
      */
     Identifier getSliceName();
+
+    /**
+     * Gets the {@link ModdedBiomeSlice#getNameId(Identifier)} name id of a modded provider at the current position.
+     *
+     * @return The name id of a modded provider at the current position.
+     */
+    int getSliceNameId();
 }
@@ -0,0 +1,58 @@
+package net.george.blueprint.common.world.modification;
+
+/**
+ * A lookup table for picking weighted {@link ModdedBiomeSlice} instances in constant expected time.
+ * <p>Random weights are split into buckets that each remember the first slice they can land in, so picking a slice only scans the few slices in one bucket.</p>
+ * <p>This picks the exact same slices as scanning the whole list, so world layouts stay the same.</p>
+ *
+ * @author Mr.George
+ * @see ModdedBiomeSliceLayout
+ */
+final class WeightedSliceTable {
+    private final int[] cumulativeWeights;
+    private final int[] firstSlices;
+    private final int shift;
+
+    WeightedSliceTable(int[] weights) {
+        int count = weights.length;
+        int[] cumulativeWeights = new int[count];
+        int totalWeight = 0;
+        for (int i = 0; i < count; i++) {
+            cumulativeWeights[i] = totalWeight += weights[i];
+        }
+        this.cumulativeWeights = cumulativeWeights;
+        if (totalWeight <= 0) {
+            this.firstSlices = new int[] {0};
+            this.shift = 31;
+            return;
+        }
+        //Buckets get sized so there are about as many buckets as slices, which keeps each bucket's scan short
+        int shift = Math.max(0, (32 - Integer.numberOfLeadingZeros(totalWeight - 1)) - (32 - Integer.numberOfLeadingZeros(Math.max(1, count - 1))));
+        int[] firstSlices = new int[((totalWeight - 1) >>> shift) + 1];
+        int slice = 0;
+        for (int bucket = 0; bucket < firstSlices.length; bucket++) {
+            int lowestWeight = bucket << shift;
+            while (cumulativeWeights[slice] <= lowestWeight) {
+                slice++;
+            }
+            firstSlices[bucket] = slice;
+        }
+        this.firstSlices = firstSlices;
+        this.shift = shift;
+    }
+
+    /**
+     * Gets the index of the slice that a random weight lands in.
+     *
+     * @param randomWeight A random weight between 0 (inclusive) and the total weight of the slices (exclusive).
+     * @return The index of the slice that the random weight lands in.
+     */
+    int pick(int randomWeight) {
+        int[] cumulativeWeights = this.cumulativeWeights;
+        int slice = this.firstSlices[randomWeight >>> this.shift];
+        while (slice < cumulativeWeights.length - 1 && cumulativeWeights[slice] <= randomWeight) {
+            slice++;
+        }
+        return slice;
+    }
+}
@@ -1,8 +1,21 @@
 package net.george.blueprint.common.world.storage.tracking;
 
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.AbstractNbtNumber;
+import net.minecraft.nbt.NbtByte;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtDouble;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtFloat;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtInt;
+import net.minecraft.nbt.NbtIntArray;
+import net.minecraft.nbt.NbtLong;
+import net.minecraft.nbt.NbtShort;
+import net.minecraft.nbt.NbtString;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
 import net.minecraft.util.math.BlockPos;
 
 import java.util.UUID;
@@ -10,6 +23,8 @@ import java.util.UUID;
 /**
  * This class contains the built-in {@link IDataProcessor}s.
  * Use these fields for some primitive types or basic types.
+ * <p>All of these except {@link #COMPOUND} sync their values as raw buffer data instead of NBT.</p>
+ * <p>All of these except {@link #COMPOUND} and {@link #STACK} save their values as a single immutable {@link NbtElement}, which gets cached between saves.</p>
  * <p>Feel free to make PRs to add more of these!</p>
  *
  * @author SmellyModder (Luke Tonon)
@@ -28,6 +43,31 @@ public final class DataProcessors {
         public Boolean read(NbtCompound nbt) {
             return nbt.getBoolean("Boolean");
         }
+
+        @Override
+        public void writeToBuffer(Boolean bool, PacketByteBuf buffer) {
+            buffer.writeBoolean(bool);
+        }
+
+        @Override
+        public Boolean readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readBoolean();
+        }
+
+        @Override
+        public NbtElement writeElement(Boolean bool) {
+            return NbtByte.of(bool);
+        }
+
+        @Override
+        public Boolean readElement(NbtElement element) {
+            return element instanceof AbstractNbtNumber number && number.byteValue() != 0;
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 
     public static final IDataProcessor<Byte> BYTE = new IDataProcessor<>() {
@@ -42,6 +82,31 @@ public final class DataProcessors {
         public Byte read(NbtCompound nbt) {
             return nbt.getByte("Byte");
         }
+
+        @Override
+        public void writeToBuffer(Byte abyte, PacketByteBuf buffer) {
+            buffer.writeByte(abyte);
+        }
+
+        @Override
+        public Byte readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readByte();
+        }
+
+        @Override
+        public NbtElement writeElement(Byte abyte) {
+            return NbtByte.of(abyte);
+        }
+
+        @Override
+        public Byte readElement(NbtElement element) {
+            return element instanceof AbstractNbtNumber number ? number.byteValue() : 0;
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 
     public static final IDataProcessor<Short> SHORT = new IDataProcessor<>() {
@@ -56,6 +121,31 @@ public final class DataProcessors {
         public Short read(NbtCompound nbt) {
             return nbt.getShort("Short");
         }
+
+        @Override
+        public void writeToBuffer(Short ashort, PacketByteBuf buffer) {
+            buffer.writeShort(ashort);
+        }
+
+        @Override
+        public Short readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readShort();
+        }
+
+        @Override
+        public NbtElement writeElement(Short ashort) {
+            return NbtShort.of(ashort);
+        }
+
+        @Override
+        public Short readElement(NbtElement element) {
+            return element instanceof AbstractNbtNumber number ? number.shortValue() : 0;
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 
     public static final IDataProcessor<Integer> INT = new IDataProcessor<>() {
@@ -70,6 +160,31 @@ public final class DataProcessors {
         public Integer read(NbtCompound nbt) {
             return nbt.getInt("Integer");
         }
+
+        @Override
+        public void writeToBuffer(Integer integer, PacketByteBuf buffer) {
+            buffer.writeVarInt(integer);
+        }
+
+        @Override
+        public Integer readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readVarInt();
+        }
+
+        @Override
+        public NbtElement writeElement(Integer integer) {
+            return NbtInt.of(integer);
+        }
+
+        @Override
+        public Integer readElement(NbtElement element) {
+            return element instanceof AbstractNbtNumber number ? number.intValue() : 0;
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 
     public static final IDataProcessor<Long> LONG = new IDataProcessor<>() {
@@ -84,6 +199,31 @@ public final class DataProcessors {
         public Long read(NbtCompound nbt) {
             return nbt.getLong("Long");
         }
+
+        @Override
+        public void writeToBuffer(Long along, PacketByteBuf buffer) {
+            buffer.writeVarLong(along);
+        }
+
+        @Override
+        public Long readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readVarLong();
+        }
+
+        @Override
+        public NbtElement writeElement(Long along) {
+            return NbtLong.of(along);
+        }
+
+        @Override
+        public Long readElement(NbtElement element) {
+            return element instanceof AbstractNbtNumber number ? number.longValue() : 0L;
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 
     public static final IDataProcessor<Float> FLOAT = new IDataProcessor<>() {
@@ -98,6 +238,31 @@ public final class DataProcessors {
         public Float read(NbtCompound nbt) {
             return nbt.getFloat("Float");
         }
+
+        @Override
+        public void writeToBuffer(Float afloat, PacketByteBuf buffer) {
+            buffer.writeFloat(afloat);
+        }
+
+        @Override
+        public Float readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readFloat();
+        }
+
+        @Override
+        public NbtElement writeElement(Float afloat) {
+            return NbtFloat.of(afloat);
+        }
+
+        @Override
+        public Float readElement(NbtElement element) {
+            return element instanceof AbstractNbtNumber number ? number.floatValue() : 0.0F;
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 
     public static final IDataProcessor<Double> DOUBLE = new IDataProcessor<>() {
@@ -112,6 +277,31 @@ public final class DataProcessors {
         public Double read(NbtCompound nbt) {
             return nbt.getDouble("Double");
         }
+
+        @Override
+        public void writeToBuffer(Double aDouble, PacketByteBuf buffer) {
+            buffer.writeDouble(aDouble);
+        }
+
+        @Override
+        public Double readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readDouble();
+        }
+
+        @Override
+        public NbtElement writeElement(Double aDouble) {
+            return NbtDouble.of(aDouble);
+        }
+
+        @Override
+        public Double readElement(NbtElement element) {
+            return element instanceof AbstractNbtNumber number ? number.doubleValue() : 0.0D;
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 
     public static final IDataProcessor<String> STRING = new IDataProcessor<>() {
@@ -126,6 +316,31 @@ public final class DataProcessors {
         public String read(NbtCompound nbt) {
             return nbt.getString("String");
         }
+
+        @Override
+        public void writeToBuffer(String aString, PacketByteBuf buffer) {
+            buffer.writeString(aString);
+        }
+
+        @Override
+        public String readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readString();
+        }
+
+        @Override
+        public NbtElement writeElement(String aString) {
+            return NbtString.of(aString);
+        }
+
+        @Override
+        public String readElement(NbtElement element) {
+            return element instanceof NbtString ? element.asString() : "";
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 
     public static final IDataProcessor<BlockPos> POS = new IDataProcessor<>() {
@@ -140,6 +355,31 @@ public final class DataProcessors {
         public BlockPos read(NbtCompound compound) {
             return BlockPos.fromLong(compound.getLong("Pos"));
         }
+
+        @Override
+        public void writeToBuffer(BlockPos pos, PacketByteBuf buffer) {
+            buffer.writeBlockPos(pos);
+        }
+
+        @Override
+        public BlockPos readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readBlockPos();
+        }
+
+        @Override
+        public NbtElement writeElement(BlockPos pos) {
+            return NbtLong.of(pos.asLong());
+        }
+
+        @Override
+        public BlockPos readElement(NbtElement element) {
+            return BlockPos.fromLong(element instanceof AbstractNbtNumber number ? number.longValue() : 0L);
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 
     public static final IDataProcessor<java.util.UUID> UUID = new IDataProcessor<>() {
@@ -154,6 +394,27 @@ public final class DataProcessors {
         public UUID read(NbtCompound compound) {
             return compound.getUuid("UUID");
         }
+
+        @Override
+        public void writeToBuffer(UUID uuid, PacketByteBuf buffer) {
+            buffer.writeUuid(uuid);
+        }
+
+        @Override
+        public UUID readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readUuid();
+        }
+
+        @Override
+        public NbtElement writeElement(UUID uuid) {
+            return NbtHelper.fromUuid(uuid);
+        }
+
+        @Override
+        public UUID readElement(NbtElement element) {
+            // UUIDs are saved as mutable int arrays, so they don't get cached and malformed ones read as the nil UUID
+            return element instanceof NbtIntArray array && array.size() == 4 ? NbtHelper.toUuid(array) : Util.NIL_UUID;
+        }
     };
 
     public static final IDataProcessor<NbtCompound> COMPOUND = new IDataProcessor<>() {
@@ -178,6 +439,16 @@ public final class DataProcessors {
         public ItemStack read(NbtCompound compound) {
             return ItemStack.fromNbt(compound);
         }
+
+        @Override
+        public void writeToBuffer(ItemStack stack, PacketByteBuf buffer) {
+            buffer.writeItemStack(stack);
+        }
+
+        @Override
+        public ItemStack readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readItemStack();
+        }
     };
 
     public static final IDataProcessor<Identifier> RESOURCE_LOCATION = new IDataProcessor<>() {
@@ -192,5 +463,30 @@ public final class DataProcessors {
         public Identifier read(NbtCompound compound) {
             return new Identifier(compound.getString("Identifier"));
         }
+
+        @Override
+        public void writeToBuffer(Identifier resourceLocation, PacketByteBuf buffer) {
+            buffer.writeIdentifier(resourceLocation);
+        }
+
+        @Override
+        public Identifier readFromBuffer(PacketByteBuf buffer) {
+            return buffer.readIdentifier();
+        }
+
+        @Override
+        public NbtElement writeElement(Identifier resourceLocation) {
+            return NbtString.of(resourceLocation.toString());
+        }
+
+        @Override
+        public Identifier readElement(NbtElement element) {
+            return new Identifier(element.asString());
+        }
+
+        @Override
+        public boolean hasImmutableValues() {
+            return true;
+        }
     };
 }
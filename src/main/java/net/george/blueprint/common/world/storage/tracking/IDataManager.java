@@ -1,9 +1,12 @@
 package net.george.blueprint.common.world.storage.tracking;
 
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.entity.Entity;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -35,6 +38,82 @@ public interface IDataManager {
      */
     <T> T getValue(TrackedData<T> trackedData);
 
+    /**
+     * Sets an int value for a {@link TrackedData} without boxing it where the implementation supports it.
+     *
+     * @param trackedData The {@link TrackedData} to the value for.
+     * @param value       The value to set.
+     */
+    default void setIntValue(TrackedData<Integer> trackedData, int value) {
+        this.setValue(trackedData, value);
+    }
+
+    /**
+     * Gets an int value for a {@link TrackedData} without boxing it where the implementation supports it.
+     *
+     * @param trackedData The {@link TrackedData} to get the value for.
+     */
+    default int getIntValue(TrackedData<Integer> trackedData) {
+        return this.getValue(trackedData);
+    }
+
+    /**
+     * Sets a long value for a {@link TrackedData} without boxing it where the implementation supports it.
+     *
+     * @param trackedData The {@link TrackedData} to the value for.
+     * @param value       The value to set.
+     */
+    default void setLongValue(TrackedData<Long> trackedData, long value) {
+        this.setValue(trackedData, value);
+    }
+
+    /**
+     * Gets a long value for a {@link TrackedData} without boxing it where the implementation supports it.
+     *
+     * @param trackedData The {@link TrackedData} to get the value for.
+     */
+    default long getLongValue(TrackedData<Long> trackedData) {
+        return this.getValue(trackedData);
+    }
+
+    /**
+     * Sets a float value for a {@link TrackedData} without boxing it where the implementation supports it.
+     *
+     * @param trackedData The {@link TrackedData} to the value for.
+     * @param value       The value to set.
+     */
+    default void setFloatValue(TrackedData<Float> trackedData, float value) {
+        this.setValue(trackedData, value);
+    }
+
+    /**
+     * Gets a float value for a {@link TrackedData} without boxing it where the implementation supports it.
+     *
+     * @param trackedData The {@link TrackedData} to get the value for.
+     */
+    default float getFloatValue(TrackedData<Float> trackedData) {
+        return this.getValue(trackedData);
+    }
+
+    /**
+     * Sets a boolean value for a {@link TrackedData} without boxing it where the implementation supports it.
+     *
+     * @param trackedData The {@link TrackedData} to the value for.
+     * @param value       The value to set.
+     */
+    default void setBooleanValue(TrackedData<Boolean> trackedData, boolean value) {
+        this.setValue(trackedData, value);
+    }
+
+    /**
+     * Gets a boolean value for a {@link TrackedData} without boxing it where the implementation supports it.
+     *
+     * @param trackedData The {@link TrackedData} to get the value for.
+     */
+    default boolean getBooleanValue(TrackedData<Boolean> trackedData) {
+        return this.getValue(trackedData);
+    }
+
     /**
      * @return Is this {@link IDataManager} dirty.
      */
@@ -46,9 +125,22 @@ public interface IDataManager {
     void clean();
 
     /**
-     * Gets the map that stores all the {@link TrackedData} and their corresponding {@link DataEntry}s.
+     * Cleans a single dirty entry, leaving the other dirty entries as they are.
+     *
+     * @param trackedData The {@link TrackedData} to clean the entry of.
+     */
+    default void clean(TrackedData<?> trackedData) {
+        DataEntry<?> entry = this.getDataMap().get(trackedData);
+        if (entry != null) {
+            entry.clean();
+        }
+    }
+
+    /**
+     * Gets a map of all the {@link TrackedData} and their corresponding {@link DataEntry}s.
+     * <p>Implementations may store their entries differently, so this may be a view of that storage.</p>
      *
-     * @return The map that stores all the {@link TrackedData} and their corresponding {@link DataEntry}s.
+     * @return A map of all the {@link TrackedData} and their corresponding {@link DataEntry}s.
      */
     Map<TrackedData<?>, DataEntry<?>> getDataMap();
 
@@ -64,6 +156,16 @@ public interface IDataManager {
      */
     Set<DataEntry<?>> getDirtyEntries();
 
+    /**
+     * Gets the dirty entries without copying them into a new collection where the implementation supports it.
+     * <p>The returned collection may be a live view, so it should be consumed before {@link #clean()} gets called.</p>
+     *
+     * @return The dirty entries.
+     */
+    default Collection<DataEntry<?>> getDirtyEntriesView() {
+        return this.getDirtyEntries();
+    }
+
     /**
      * @param syncToAll Should this filter for only {@link SyncType#TO_CLIENTS}.
      * @return The entries for a {@link SyncType}.
@@ -79,10 +181,37 @@ public interface IDataManager {
         private final TrackedData<T> trackedData;
         private T value;
         private boolean dirty;
+        @Nullable
+        private NbtElement savedElement;
+        // The store holding this entry, which tracks it in its dirty bitset
+        @Nullable
+        TrackedDataSlots owner;
 
         public DataEntry(TrackedData<T> trackedData) {
+            this(trackedData, trackedData.getDefaultValue());
+        }
+
+        protected DataEntry(TrackedData<T> trackedData, T value) {
             this.trackedData = trackedData;
-            this.value = trackedData.getDefaultValue();
+            this.value = value;
+        }
+
+        /**
+         * Creates a new entry for a {@link TrackedData}, using an unboxed entry for primitive {@link DataProcessors}.
+         *
+         * @param trackedData The {@link TrackedData} to create an entry for.
+         * @param <T>         The type of value.
+         * @return A new entry for the {@link TrackedData}.
+         */
+        @SuppressWarnings("unchecked")
+        public static <T> DataEntry<T> create(TrackedData<T> trackedData) {
+            return switch (trackedData.getSlotKind()) {
+                case INT -> (DataEntry<T>) new IntEntry((TrackedData<Integer>) trackedData);
+                case LONG -> (DataEntry<T>) new LongEntry((TrackedData<Long>) trackedData);
+                case FLOAT -> (DataEntry<T>) new FloatEntry((TrackedData<Float>) trackedData);
+                case BOOLEAN -> (DataEntry<T>) new BooleanEntry((TrackedData<Boolean>) trackedData);
+                default -> new DataEntry<>(trackedData);
+            };
         }
 
         /**
@@ -95,8 +224,8 @@ public interface IDataManager {
             int id = buffer.readVarInt();
             TrackedData<?> trackedData = TrackedDataManager.INSTANCE.getTrackedData(id);
             Objects.requireNonNull(trackedData, String.format("Tracked Data does not exist for id %o", id));
-            DataEntry<?> entry = new DataEntry<>(trackedData);
-            entry.readValue(buffer.readNbt(), true);
+            DataEntry<?> entry = create(trackedData);
+            entry.readValue(buffer, true);
             return entry;
         }
 
@@ -126,7 +255,36 @@ public interface IDataManager {
          */
         public void setValue(T value, boolean dirty) {
             this.value = value;
-            this.dirty = dirty;
+            this.onValueSet(dirty);
+        }
+
+        /**
+         * Sets the {@link #value} of this entry if it differs from the current one.
+         *
+         * @param value A new value.
+         * @param dirty If this entry should now be marked dirty.
+         * @return If the value was changed.
+         */
+        public boolean updateValue(T value, boolean dirty) {
+            if (Objects.equals(this.getValue(), value)) {
+                return false;
+            }
+            this.setValue(value, dirty);
+            return true;
+        }
+
+        /**
+         * Called when a new value is set for this entry.
+         * <p>This marks this entry dirty if needed and drops the cached saved {@link NbtElement}.</p>
+         * <p>A value set without marking the entry dirty doesn't clean it, so an earlier change still gets synced.</p>
+         *
+         * @param dirty If this entry should be marked dirty.
+         */
+        protected void onValueSet(boolean dirty) {
+            this.savedElement = null;
+            if (dirty) {
+                this.markDirty();
+            }
         }
 
         /**
@@ -134,6 +292,10 @@ public interface IDataManager {
          */
         public void markDirty() {
             this.dirty = true;
+            TrackedDataSlots owner = this.owner;
+            if (owner != null) {
+                owner.onEntryDirty(this);
+            }
         }
 
         /**
@@ -150,6 +312,10 @@ public interface IDataManager {
          */
         public void clean() {
             this.dirty = false;
+            TrackedDataSlots owner = this.owner;
+            if (owner != null) {
+                owner.onEntryClean(this);
+            }
         }
 
         /**
@@ -159,7 +325,26 @@ public interface IDataManager {
          */
         public void write(PacketByteBuf buffer) {
             buffer.writeVarInt(TrackedDataManager.INSTANCE.getId(this.trackedData));
-            buffer.writeNbt(this.writeValue());
+            this.writeValue(buffer);
+        }
+
+        /**
+         * Writes this entry's {@link #value} to a {@link PacketByteBuf} using its processor's buffer codec.
+         *
+         * @param buffer A {@link PacketByteBuf} to write this entry's {@link #value} to.
+         */
+        protected void writeValue(PacketByteBuf buffer) {
+            this.getTrackedData().getProcessor().writeToBuffer(this.getValue(), buffer);
+        }
+
+        /**
+         * Reads a new {@link #value} for this entry from a {@link PacketByteBuf} using its processor's buffer codec.
+         *
+         * @param buffer A {@link PacketByteBuf} to read from.
+         * @param dirty  If this entry should now be marked dirty.
+         */
+        protected void readValue(PacketByteBuf buffer, boolean dirty) {
+            this.setValue(this.getTrackedData().getProcessor().readFromBuffer(buffer), dirty);
         }
 
         /**
@@ -168,7 +353,35 @@ public interface IDataManager {
          * @return This entry's {@link #value} as a {@link NbtCompound}.
          */
         public NbtCompound writeValue() {
-            return this.getTrackedData().getProcessor().write(this.value);
+            return this.getTrackedData().getProcessor().write(this.getValue());
+        }
+
+        /**
+         * Writes this entry's {@link #value} into the {@link NbtElement} that gets saved for it.
+         * <p>For processors with immutable values the element is cached until a new value is set, so unchanged entries don't get serialized again on every save.</p>
+         *
+         * @return This entry's {@link #value} as a {@link NbtElement}.
+         */
+        public NbtElement writeElement() {
+            NbtElement element = this.savedElement;
+            if (element == null) {
+                IDataProcessor<T> processor = this.getTrackedData().getProcessor();
+                element = processor.writeElement(this.getValue());
+                if (processor.hasImmutableValues()) {
+                    this.savedElement = element;
+                }
+            }
+            return element;
+        }
+
+        /**
+         * Reads a new {@link #value} for this entry from the {@link NbtElement} that was saved for it.
+         *
+         * @param element A {@link NbtElement} to read from.
+         * @param dirty   If this entry should now be marked dirty.
+         */
+        public void readElement(NbtElement element, boolean dirty) {
+            this.setValue(this.getTrackedData().getProcessor().readElement(element), dirty);
         }
 
         /**
@@ -178,8 +391,272 @@ public interface IDataManager {
          * @param dirty    If this entry should now be marked dirty.
          */
         public void readValue(NbtCompound compound, boolean dirty) {
-            this.value = this.getTrackedData().getProcessor().read(compound);
-            this.dirty = dirty;
+            this.setValue(this.getTrackedData().getProcessor().read(compound), dirty);
+        }
+    }
+
+    /**
+     * A {@link DataEntry} that stores an unboxed int value.
+     *
+     * @author Mr.George
+     */
+    class IntEntry extends DataEntry<Integer> {
+        private int intValue;
+
+        public IntEntry(TrackedData<Integer> trackedData) {
+            super(trackedData, null);
+            this.intValue = trackedData.getDefaultValue();
+        }
+
+        /**
+         * Gets this entry's value without boxing it.
+         *
+         * @return This entry's value.
+         */
+        public int getInt() {
+            return this.intValue;
+        }
+
+        /**
+         * Sets the value of this entry without boxing it if it differs from the current one.
+         *
+         * @param value A new value.
+         * @param dirty If this entry should now be marked dirty.
+         * @return If the value was changed.
+         */
+        public boolean updateInt(int value, boolean dirty) {
+            if (this.intValue == value) {
+                return false;
+            }
+            this.intValue = value;
+            this.onValueSet(dirty);
+            return true;
+        }
+
+        @Override
+        public Integer getValue() {
+            return this.intValue;
+        }
+
+        @Override
+        public void setValue(Integer value, boolean dirty) {
+            this.intValue = value;
+            this.onValueSet(dirty);
+        }
+
+        @Override
+        public boolean updateValue(Integer value, boolean dirty) {
+            return this.updateInt(value, dirty);
+        }
+
+        @Override
+        protected void writeValue(PacketByteBuf buffer) {
+            buffer.writeVarInt(this.intValue);
+        }
+
+        @Override
+        protected void readValue(PacketByteBuf buffer, boolean dirty) {
+            this.intValue = buffer.readVarInt();
+            this.onValueSet(dirty);
+        }
+    }
+
+    /**
+     * A {@link DataEntry} that stores an unboxed long value.
+     *
+     * @author Mr.George
+     */
+    class LongEntry extends DataEntry<Long> {
+        private long longValue;
+
+        public LongEntry(TrackedData<Long> trackedData) {
+            super(trackedData, null);
+            this.longValue = trackedData.getDefaultValue();
+        }
+
+        /**
+         * Gets this entry's value without boxing it.
+         *
+         * @return This entry's value.
+         */
+        public long getLong() {
+            return this.longValue;
+        }
+
+        /**
+         * Sets the value of this entry without boxing it if it differs from the current one.
+         *
+         * @param value A new value.
+         * @param dirty If this entry should now be marked dirty.
+         * @return If the value was changed.
+         */
+        public boolean updateLong(long value, boolean dirty) {
+            if (this.longValue == value) {
+                return false;
+            }
+            this.longValue = value;
+            this.onValueSet(dirty);
+            return true;
+        }
+
+        @Override
+        public Long getValue() {
+            return this.longValue;
+        }
+
+        @Override
+        public void setValue(Long value, boolean dirty) {
+            this.longValue = value;
+            this.onValueSet(dirty);
+        }
+
+        @Override
+        public boolean updateValue(Long value, boolean dirty) {
+            return this.updateLong(value, dirty);
+        }
+
+        @Override
+        protected void writeValue(PacketByteBuf buffer) {
+            buffer.writeVarLong(this.longValue);
+        }
+
+        @Override
+        protected void readValue(PacketByteBuf buffer, boolean dirty) {
+            this.longValue = buffer.readVarLong();
+            this.onValueSet(dirty);
+        }
+    }
+
+    /**
+     * A {@link DataEntry} that stores an unboxed float value.
+     *
+     * @author Mr.George
+     */
+    class FloatEntry extends DataEntry<Float> {
+        private float floatValue;
+
+        public FloatEntry(TrackedData<Float> trackedData) {
+            super(trackedData, null);
+            this.floatValue = trackedData.getDefaultValue();
+        }
+
+        /**
+         * Gets this entry's value without boxing it.
+         *
+         * @return This entry's value.
+         */
+        public float getFloat() {
+            return this.floatValue;
+        }
+
+        /**
+         * Sets the value of this entry without boxing it if it differs from the current one.
+         *
+         * @param value A new value.
+         * @param dirty If this entry should now be marked dirty.
+         * @return If the value was changed.
+         */
+        public boolean updateFloat(float value, boolean dirty) {
+            // Matches Float#equals so NaN and signed zeros behave like the boxed path
+            if (Float.floatToIntBits(this.floatValue) == Float.floatToIntBits(value)) {
+                return false;
+            }
+            this.floatValue = value;
+            this.onValueSet(dirty);
+            return true;
+        }
+
+        @Override
+        public Float getValue() {
+            return this.floatValue;
+        }
+
+        @Override
+        public void setValue(Float value, boolean dirty) {
+            this.floatValue = value;
+            this.onValueSet(dirty);
+        }
+
+        @Override
+        public boolean updateValue(Float value, boolean dirty) {
+            return this.updateFloat(value, dirty);
+        }
+
+        @Override
+        protected void writeValue(PacketByteBuf buffer) {
+            buffer.writeFloat(this.floatValue);
+        }
+
+        @Override
+        protected void readValue(PacketByteBuf buffer, boolean dirty) {
+            this.floatValue = buffer.readFloat();
+            this.onValueSet(dirty);
+        }
+    }
+
+    /**
+     * A {@link DataEntry} that stores an unboxed boolean value.
+     *
+     * @author Mr.George
+     */
+    class BooleanEntry extends DataEntry<Boolean> {
+        private boolean booleanValue;
+
+        public BooleanEntry(TrackedData<Boolean> trackedData) {
+            super(trackedData, null);
+            this.booleanValue = trackedData.getDefaultValue();
+        }
+
+        /**
+         * Gets this entry's value without boxing it.
+         *
+         * @return This entry's value.
+         */
+        public boolean getBoolean() {
+            return this.booleanValue;
+        }
+
+        /**
+         * Sets the value of this entry without boxing it if it differs from the current one.
+         *
+         * @param value A new value.
+         * @param dirty If this entry should now be marked dirty.
+         * @return If the value was changed.
+         */
+        public boolean updateBoolean(boolean value, boolean dirty) {
+            if (this.booleanValue == value) {
+                return false;
+            }
+            this.booleanValue = value;
+            this.onValueSet(dirty);
+            return true;
+        }
+
+        @Override
+        public Boolean getValue() {
+            return this.booleanValue;
+        }
+
+        @Override
+        public void setValue(Boolean value, boolean dirty) {
+            this.booleanValue = value;
+            this.onValueSet(dirty);
+        }
+
+        @Override
+        public boolean updateValue(Boolean value, boolean dirty) {
+            return this.updateBoolean(value, dirty);
+        }
+
+        @Override
+        protected void writeValue(PacketByteBuf buffer) {
+            buffer.writeBoolean(this.booleanValue);
+        }
+
+        @Override
+        protected void readValue(PacketByteBuf buffer, boolean dirty) {
+            this.booleanValue = buffer.readBoolean();
+            this.onValueSet(dirty);
         }
     }
 }
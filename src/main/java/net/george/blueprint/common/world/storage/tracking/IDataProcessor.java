@@ -1,9 +1,13 @@
 package net.george.blueprint.common.world.storage.tracking;
 
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.network.PacketByteBuf;
 
 /**
  * A simple interface that reads and writes NBT for a type of value.
+ * <p>Processors can override {@link #writeToBuffer(Object, PacketByteBuf)} and {@link #readFromBuffer(PacketByteBuf)} to sync values without going through NBT.</p>
+ * <p>Processors can also override {@link #writeElement(Object)} and {@link #readElement(NbtElement)} to save values as a single {@link NbtElement} instead of a {@link NbtCompound}.</p>
  *
  * @param <T> The type to write and read.
  * @author Mr.George
@@ -25,4 +29,58 @@ public interface IDataProcessor<T> {
      * @return The type deserialized from a {@link NbtCompound}.
      */
     T read(NbtCompound compound);
+
+    /**
+     * Writes a type straight to a {@link PacketByteBuf} for syncing.
+     * <p>This writes the {@link NbtCompound} from {@link #write(Object)} by default.</p>
+     *
+     * @param type   An object of the type to write.
+     * @param buffer The {@link PacketByteBuf} to write to.
+     */
+    default void writeToBuffer(T type, PacketByteBuf buffer) {
+        buffer.writeNbt(this.write(type));
+    }
+
+    /**
+     * Reads a type straight from a {@link PacketByteBuf} when syncing.
+     * <p>This must read what {@link #writeToBuffer(Object, PacketByteBuf)} writes.</p>
+     *
+     * @param buffer The {@link PacketByteBuf} to read from.
+     * @return The type read from the {@link PacketByteBuf}.
+     */
+    default T readFromBuffer(PacketByteBuf buffer) {
+        return this.read(buffer.readNbt());
+    }
+
+    /**
+     * Writes a type to the {@link NbtElement} that gets saved for it.
+     * <p>This returns the {@link NbtCompound} from {@link #write(Object)} by default.</p>
+     *
+     * @param type An object of the type to write.
+     * @return The object serialized to a {@link NbtElement}.
+     */
+    default NbtElement writeElement(T type) {
+        return this.write(type);
+    }
+
+    /**
+     * Reads a type from the {@link NbtElement} that was saved for it.
+     * <p>This must read what {@link #writeElement(Object)} writes.</p>
+     *
+     * @param element The {@link NbtElement} to read.
+     * @return The type deserialized from a {@link NbtElement}.
+     */
+    default T readElement(NbtElement element) {
+        return this.read(element instanceof NbtCompound compound ? compound : new NbtCompound());
+    }
+
+    /**
+     * Checks if the values of this processor are immutable and get written to immutable {@link NbtElement}s.
+     * <p>If they are, the {@link NbtElement} written for a value gets cached and reused until a new value is set, so it must never be modified.</p>
+     *
+     * @return If the values of this processor are immutable.
+     */
+    default boolean hasImmutableValues() {
+        return false;
+    }
 }
@@ -0,0 +1,34 @@
+package net.george.blueprint.common.world.storage.tracking;
+
+/**
+ * The kinds of storage slot a {@link TrackedData} can use.
+ * <p>Data using one of the built-in primitive {@link DataProcessors} is stored unboxed.</p>
+ *
+ * @author Mr.George
+ */
+enum SlotKind {
+    OBJECT,
+    INT,
+    LONG,
+    FLOAT,
+    BOOLEAN;
+
+    /**
+     * Gets the {@link SlotKind} for an {@link IDataProcessor}.
+     *
+     * @param processor The processor to get the kind for.
+     * @return The {@link SlotKind} for the supplied processor.
+     */
+    static SlotKind of(IDataProcessor<?> processor) {
+        if (processor == DataProcessors.INT) {
+            return INT;
+        } else if (processor == DataProcessors.LONG) {
+            return LONG;
+        } else if (processor == DataProcessors.FLOAT) {
+            return FLOAT;
+        } else if (processor == DataProcessors.BOOLEAN) {
+            return BOOLEAN;
+        }
+        return OBJECT;
+    }
+}
@@ -1,5 +1,8 @@
 package net.george.blueprint.common.world.storage.tracking;
 
+import net.minecraft.util.Identifier;
+
+import javax.annotation.Nullable;
 import java.util.function.Supplier;
 
 /**
@@ -9,6 +12,7 @@ import java.util.function.Supplier;
  * <p>A {@link SyncType} for how this data should be synced.</p>
  * <p>A boolean, {@link #save}, if this data should be saved and reloaded.</p>
  * <p>A boolean, {@link #persistent}, if this data should be wiped when a data-clearing event occurs, e.g. a player dying.</p>
+ * <p>An optional sync policy of a minimum {@link #syncInterval}, a {@link #syncDistance} cutoff and {@link #coalescing} for how often and to whom changes get synced.</p>
  *
  * @param <T> The type to track.
  * @author Mr.George
@@ -20,13 +24,26 @@ public class TrackedData<T> {
     private final SyncType syncType;
     private final boolean save;
     private final boolean persistent;
+    private final int syncInterval;
+    private final double syncDistance;
+    private final boolean coalescing;
+    private final SlotKind slotKind;
+    @Nullable
+    private Identifier key;
+    @Nullable
+    private String keyString;
+    private int id = -1;
 
-    private TrackedData(final IDataProcessor<T> processor, final Supplier<T> defaultValue, final SyncType syncType, final boolean save, final boolean persistent) {
+    private TrackedData(final IDataProcessor<T> processor, final Supplier<T> defaultValue, final SyncType syncType, final boolean save, final boolean persistent, final int syncInterval, final double syncDistance, final boolean coalescing) {
         this.processor = processor;
         this.defaultValue = defaultValue;
         this.syncType = syncType;
         this.save = save;
         this.persistent = persistent;
+        this.syncInterval = syncInterval;
+        this.syncDistance = syncDistance;
+        this.coalescing = coalescing;
+        this.slotKind = SlotKind.of(processor);
     }
 
     /**
@@ -74,6 +91,94 @@ public class TrackedData<T> {
         return this.persistent;
     }
 
+    /**
+     * Gets this data's {@link #syncInterval}.
+     *
+     * @return The minimum amount of ticks between syncs of this data, or 0 if changes get synced every tick.
+     */
+    public int getSyncInterval() {
+        return this.syncInterval;
+    }
+
+    /**
+     * Gets this data's {@link #syncDistance}.
+     *
+     * @return The distance from the entity tracking players must be within to get changes of this data, or 0 if there is no cutoff.
+     */
+    public double getSyncDistance() {
+        return this.syncDistance;
+    }
+
+    /**
+     * Checks if this data is {@link #coalescing}.
+     *
+     * @return If tracking players outside the {@link #syncDistance} get the latest value once they come back within it.
+     */
+    public boolean isCoalescing() {
+        return this.coalescing;
+    }
+
+    /**
+     * Checks if this data has a sync policy that limits how often or to whom its changes get synced.
+     *
+     * @return If this data has a sync policy.
+     */
+    public boolean hasSyncPolicy() {
+        return this.syncInterval > 0 || this.syncDistance > 0.0D;
+    }
+
+    /**
+     * Gets this data's registry {@link #id}.
+     *
+     * @return This data's registry {@link #id}, or -1 if it has not been registered.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets this data's registry {@link #key}.
+     *
+     * @return This data's registry {@link #key}, or null if it has not been registered.
+     */
+    @Nullable
+    public Identifier getKey() {
+        return this.key;
+    }
+
+    /**
+     * Gets the interned string form of this data's registry {@link #key}.
+     * <p>This is used as the key this data gets saved under, so it isn't built again on every save.</p>
+     *
+     * @return The interned string form of this data's registry {@link #key}, or null if it has not been registered.
+     */
+    @Nullable
+    public String getKeyString() {
+        return this.keyString;
+    }
+
+    /**
+     * Sets this data's registry {@link #key} and {@link #id}.
+     * <p>Only {@link TrackedDataManager#registerData} should call this.</p>
+     *
+     * @param key The key this data was registered for.
+     * @param id  The id assigned by the registry.
+     */
+    void setRegistration(Identifier key, int id) {
+        this.key = key;
+        this.keyString = key.toString().intern();
+        this.id = id;
+    }
+
+    /**
+     * Gets the {@link SlotKind} this data is stored with.
+     *
+     * @return The {@link SlotKind} this data is stored with.
+     */
+    SlotKind getSlotKind() {
+        return this.slotKind;
+    }
+
     /**
      * The builder class for {@link TrackedData}.
      *
@@ -86,6 +191,9 @@ public class TrackedData<T> {
         private SyncType syncType;
         private boolean save;
         private boolean persistent;
+        private int syncInterval;
+        private double syncDistance;
+        private boolean coalescing;
 
         private Builder(final IDataProcessor<T> processor, final Supplier<T> defaultValue) {
             this.processor = processor;
@@ -137,13 +245,56 @@ public class TrackedData<T> {
             return this;
         }
 
+        /**
+         * Sets the minimum amount of ticks between syncs of the {@link TrackedData} to be built.
+         * <p>Changes made in between stay dirty and only the latest value gets synced once the interval has passed.</p>
+         * <p> This is 0 by default, syncing changes every tick. </p>
+         *
+         * @param syncInterval The minimum amount of ticks between syncs.
+         * @return This current builder.
+         */
+        public Builder<T> setSyncInterval(int syncInterval) {
+            if (syncInterval < 0) {
+                throw new IllegalArgumentException("Sync interval must not be negative: " + syncInterval);
+            }
+            this.syncInterval = syncInterval;
+            return this;
+        }
+
+        /**
+         * Sets the distance from the entity that tracking players must be within to get changes of the {@link TrackedData} to be built.
+         * <p>This only applies to {@link SyncType#TO_CLIENTS} data, a player always gets the changes of its own data.</p>
+         * <p> This is 0 by default, meaning there is no cutoff. </p>
+         *
+         * @param syncDistance The distance cutoff in blocks.
+         * @return This current builder.
+         */
+        public Builder<T> setSyncDistance(double syncDistance) {
+            if (syncDistance < 0.0D) {
+                throw new IllegalArgumentException("Sync distance must not be negative: " + syncDistance);
+            }
+            this.syncDistance = syncDistance;
+            return this;
+        }
+
+        /**
+         * Enables coalescing of the changes that tracking players outside the sync distance miss.
+         * When this is enabled those players get only the latest value once they come back within the sync distance, otherwise they don't get the missed changes at all.
+         *
+         * @return This current builder.
+         */
+        public Builder<T> enableCoalescing() {
+            this.coalescing = true;
+            return this;
+        }
+
         /**
          * Builds the {@link TrackedData}.
          *
          * @return A {@link TrackedData} constructed using this builder.
          */
         public TrackedData<T> build() {
-            return new TrackedData<>(this.processor, this.defaultValue, this.syncType, this.save, this.persistent);
+            return new TrackedData<>(this.processor, this.defaultValue, this.syncType, this.save, this.persistent, this.syncInterval, this.syncDistance, this.coalescing);
         }
     }
 }
@@ -0,0 +1,202 @@
+package net.george.blueprint.common.world.storage.tracking;
+
+import com.google.common.collect.Maps;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.george.blueprint.common.network.entity.MessageS2CUpdateEntityData;
+import net.george.blueprint.common.network.entity.MessageS2CUpdateEntityDataBatch;
+import net.george.blueprint.core.Blueprint;
+import net.george.blueprint.core.BlueprintConfig;
+import net.minecraft.entity.Entity;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Collects the tracked data updates of a server tick and sends them as one {@link MessageS2CUpdateEntityDataBatch} per player at the end of the tick.
+ * <p>Each entity's update is encoded once and then copied into the batch of every player tracking it.</p>
+ * <p>A batch that grows past {@link #MAX_BATCH_BYTES} gets sent early, so a batch stays well below the size limit of custom payload packets.</p>
+ * <p>This is only used when {@link BlueprintConfig.Common#batchTrackedDataSyncing} is enabled.</p>
+ *
+ * @author Mr.George
+ */
+@SuppressWarnings("unused")
+public enum TrackedDataBatcher {
+    INSTANCE;
+
+    // Half of the 1 MiB limit of a custom payload packet, leaving room for the update that pushes a batch past it
+    private static final int MAX_BATCH_BYTES = 512 * 1024;
+    private final Map<ServerPlayerEntity, PendingBatch> pendingBatches = Maps.newHashMap();
+    private final PacketByteBuf scratch = PacketByteBufs.create();
+    private final int packetOverhead;
+    private long batchesSent;
+    private long updatesBatched;
+    private int largestBatch;
+    private long bytesSent;
+    private long bytesSaved;
+
+    TrackedDataBatcher() {
+        // Each unbatched update is its own custom payload packet with a packet id, the channel name and a message id
+        int channelNameLength = Blueprint.CHANNEL.getChannelName().toString().getBytes(StandardCharsets.UTF_8).length;
+        this.packetOverhead = 1 + PacketByteBuf.getVarIntLength(channelNameLength) + channelNameLength + 1;
+        ServerTickEvents.END_SERVER_TICK.register(server -> this.flush());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> this.reset());
+    }
+
+    /**
+     * Checks if tracked data updates should be batched.
+     *
+     * @return If tracked data updates should be batched.
+     */
+    public static boolean isEnabled() {
+        return BlueprintConfig.COMMON.batchTrackedDataSyncing.get();
+    }
+
+    /**
+     * Queues an update of an entity's entries for every player tracking it, and the entity itself if it's a player.
+     * <p>The entries are encoded right away, so they can be cleaned once this returns.</p>
+     *
+     * @param entity  The entity to update.
+     * @param entries The entries to send.
+     */
+    public void queue(Entity entity, Collection<IDataManager.DataEntry<?>> entries) {
+        PacketByteBuf scratch = this.scratch;
+        scratch.clear();
+        new MessageS2CUpdateEntityData(entity.getId(), entries).encode(scratch);
+        int length = scratch.readableBytes();
+        for (ServerPlayerEntity player : PlayerLookup.tracking(entity)) {
+            this.append(player, scratch, length);
+        }
+        if (entity instanceof ServerPlayerEntity player) {
+            this.append(player, scratch, length);
+        }
+    }
+
+    /**
+     * Queues an update of an entity's entries for a single player.
+     * <p>The entries are encoded right away, so they can be cleaned once this returns.</p>
+     *
+     * @param player  The player to send the update to.
+     * @param entity  The entity to update.
+     * @param entries The entries to send.
+     */
+    public void queue(ServerPlayerEntity player, Entity entity, Collection<IDataManager.DataEntry<?>> entries) {
+        PacketByteBuf scratch = this.scratch;
+        scratch.clear();
+        new MessageS2CUpdateEntityData(entity.getId(), entries).encode(scratch);
+        this.append(player, scratch, scratch.readableBytes());
+    }
+
+    private void append(ServerPlayerEntity player, PacketByteBuf update, int length) {
+        PendingBatch batch = this.pendingBatches.computeIfAbsent(player, key -> new PendingBatch());
+        if (batch.size > 0 && batch.updates.readableBytes() + length > MAX_BATCH_BYTES) {
+            this.send(player, batch);
+        }
+        batch.updates.writeBytes(update, update.readerIndex(), length);
+        batch.size++;
+    }
+
+    /**
+     * Sends the pending batch of every player.
+     * <p>This gets called at the end of every server tick.</p>
+     */
+    public void flush() {
+        Iterator<Map.Entry<ServerPlayerEntity, PendingBatch>> iterator = this.pendingBatches.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ServerPlayerEntity, PendingBatch> entry = iterator.next();
+            ServerPlayerEntity player = entry.getKey();
+            if (player.isDisconnected() || player.isRemoved()) {
+                iterator.remove();
+                continue;
+            }
+            PendingBatch batch = entry.getValue();
+            if (batch.size > 0) {
+                this.send(player, batch);
+            }
+        }
+    }
+
+    private void send(ServerPlayerEntity player, PendingBatch batch) {
+        int size = batch.size;
+        Blueprint.CHANNEL.sendToClient(new MessageS2CUpdateEntityDataBatch(size, batch.updates), player);
+        int bytes = batch.updates.readableBytes() + PacketByteBuf.getVarIntLength(size);
+        this.batchesSent++;
+        this.updatesBatched += size;
+        this.largestBatch = Math.max(this.largestBatch, size);
+        this.bytesSent += bytes;
+        this.bytesSaved += (long) size * this.packetOverhead - this.packetOverhead - PacketByteBuf.getVarIntLength(size);
+        batch.updates.clear();
+        batch.size = 0;
+    }
+
+    /**
+     * Drops all pending batches and resets the metrics.
+     */
+    public void reset() {
+        if (this.batchesSent > 0) {
+            Blueprint.LOGGER.debug(Blueprint.CORE, "Tracked data batching sent {} batches of {} updates (average {}, largest {}), {} bytes sent, about {} bytes saved", this.batchesSent, this.updatesBatched, this.getAverageBatchSize(), this.largestBatch, this.bytesSent, this.bytesSaved);
+        }
+        this.pendingBatches.clear();
+        this.batchesSent = 0;
+        this.updatesBatched = 0;
+        this.largestBatch = 0;
+        this.bytesSent = 0;
+        this.bytesSaved = 0;
+    }
+
+    /**
+     * @return The amount of batches sent.
+     */
+    public long getBatchesSent() {
+        return this.batchesSent;
+    }
+
+    /**
+     * @return The amount of entity updates sent in batches.
+     */
+    public long getUpdatesBatched() {
+        return this.updatesBatched;
+    }
+
+    /**
+     * @return The average amount of entity updates in a batch.
+     */
+    public double getAverageBatchSize() {
+        return this.batchesSent == 0 ? 0.0D : (double) this.updatesBatched / this.batchesSent;
+    }
+
+    /**
+     * @return The largest amount of entity updates sent in one batch.
+     */
+    public int getLargestBatch() {
+        return this.largestBatch;
+    }
+
+    /**
+     * @return The amount of payload bytes sent in batches.
+     */
+    public long getBytesSent() {
+        return this.bytesSent;
+    }
+
+    /**
+     * Gets an estimate of the bytes saved by batching, from the packet headers that weren't sent.
+     * <p>This doesn't account for frame headers or compression.</p>
+     *
+     * @return An estimate of the bytes saved by batching.
+     */
+    public long getBytesSaved() {
+        return this.bytesSaved;
+    }
+
+    private static final class PendingBatch {
+        private final PacketByteBuf updates = PacketByteBufs.create();
+        private int size;
+    }
+}
@@ -1,7 +1,7 @@
 package net.george.blueprint.common.world.storage.tracking;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ImmutableMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
 import net.george.blueprint.core.events.EntityEvents;
 import net.george.blueprint.core.events.PlayerEvents;
@@ -11,6 +11,7 @@ import net.minecraft.entity.data.DataTracker;
 import net.minecraft.util.Identifier;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 
@@ -24,6 +25,7 @@ import java.util.Set;
  * </p>
  * <p> Another important detail is this system can be applied to any other object, but you must do the groundwork yourself. </p>
  * <p> To register a {@link TrackedData} use {@link #registerData(Identifier, TrackedData)} during the common setup of your mod. </p>
+ * <p> The registry gets frozen once all mods have been initialized, so lookups after that are plain field and array reads. </p>
  *
  * @author Mr.George
  */
@@ -31,15 +33,17 @@ import java.util.Set;
 public enum TrackedDataManager {
     INSTANCE;
 
-    private final BiMap<Identifier, TrackedData<?>> dataMap = HashBiMap.create();
-    private final BiMap<Integer, TrackedData<?>> idMap = HashBiMap.create();
-    private int nextId = 0;
+    private volatile Map<Identifier, TrackedData<?>> dataMap = ImmutableMap.of();
+    private volatile Map<String, TrackedData<?>> dataByKeyString = ImmutableMap.of();
+    private volatile TrackedData<?>[] dataById = new TrackedData<?>[0];
+    private volatile boolean frozen;
 
     TrackedDataManager() {
         onStartTracking();
         onChangeDimension();
         onPlayerClone();
         onEntityJoinWorld();
+        onServerStarting();
     }
 
     /**
@@ -48,14 +52,43 @@ public enum TrackedDataManager {
      *
      * @param key         The key to register the {@link TrackedData} for.
      * @param trackedData The {@link TrackedData} to register.
+     * @throws IllegalStateException If the registry has already been frozen.
      */
     public synchronized void registerData(Identifier key, TrackedData<?> trackedData) {
+        if (this.frozen) {
+            throw new IllegalStateException(String.format("Tracked Data '%s' was registered after the registry was frozen! Register it in the common setup of your mod.", key));
+        }
         if (this.dataMap.containsKey(key)) {
             throw new IllegalArgumentException(String.format("A Tracked Data with key '%s' is already registered!", key));
         }
-        this.dataMap.put(key, trackedData);
-        this.idMap.put(this.nextId, trackedData);
-        this.nextId++;
+        if (trackedData.getId() >= 0) {
+            throw new IllegalArgumentException(String.format("Tracked Data '%s' is already registered with key '%s'!", key, trackedData.getKey()));
+        }
+        TrackedData<?>[] dataById = this.dataById;
+        int id = dataById.length;
+        trackedData.setRegistration(key, id);
+        TrackedData<?>[] newDataById = Arrays.copyOf(dataById, id + 1);
+        newDataById[id] = trackedData;
+        this.dataMap = ImmutableMap.<Identifier, TrackedData<?>>builder().putAll(this.dataMap).put(key, trackedData).build();
+        this.dataByKeyString = ImmutableMap.<String, TrackedData<?>>builder().putAll(this.dataByKeyString).put(trackedData.getKeyString(), trackedData).build();
+        this.dataById = newDataById;
+    }
+
+    /**
+     * Freezes the registry, so no more {@link TrackedData}s can be registered.
+     * <p>This gets called once all mods have been initialized.</p>
+     */
+    public synchronized void freeze() {
+        this.frozen = true;
+    }
+
+    /**
+     * Checks if the registry has been frozen.
+     *
+     * @return If the registry has been frozen.
+     */
+    public boolean isFrozen() {
+        return this.frozen;
     }
 
     /**
@@ -67,7 +100,7 @@ public enum TrackedDataManager {
      * @param <T>         The type of value.
      */
     public <T> void setValue(Entity entity, TrackedData<T> trackedData, T value) {
-        if (!this.dataMap.containsValue(trackedData)) {
+        if (trackedData.getId() < 0) {
             throw new IllegalArgumentException(String.format("No key is registered for this Tracked Data: %s", trackedData));
         }
         ((IDataManager)entity).setValue(trackedData, value);
@@ -82,7 +115,7 @@ public enum TrackedDataManager {
      * @return The value gotten from the {@link TrackedData} from the {@link Entity}.
      */
     public <T> T getValue(Entity entity, TrackedData<T> trackedData) {
-        if (!this.dataMap.containsValue(trackedData)) {
+        if (trackedData.getId() < 0) {
             throw new IllegalArgumentException(String.format("No key is registered for this Tracked Data: %s", trackedData));
         }
         return ((IDataManager)entity).getValue(trackedData);
@@ -99,6 +132,18 @@ public enum TrackedDataManager {
         return this.dataMap.get(identifier);
     }
 
+    /**
+     * Gets a {@link TrackedData} by the string form of its {@link Identifier} key.
+     * <p>This avoids parsing an {@link Identifier} when reading saved data.</p>
+     *
+     * @param key The string key to lookup.
+     * @return The {@link TrackedData} registered for the supplied string key.
+     */
+    @Nullable
+    public TrackedData<?> getTrackedData(String key) {
+        return this.dataByKeyString.get(key);
+    }
+
     /**
      * Gets the {@link Identifier} key for a {@link TrackedData}.
      *
@@ -107,7 +152,7 @@ public enum TrackedDataManager {
      */
     @Nullable
     public Identifier getKey(TrackedData<?> trackedData) {
-        return this.dataMap.inverse().get(trackedData);
+        return trackedData.getKey();
     }
 
     /**
@@ -118,17 +163,31 @@ public enum TrackedDataManager {
      */
     @Nullable
     public TrackedData<?> getTrackedData(int id) {
-        return this.idMap.get(id);
+        TrackedData<?>[] dataById = this.dataById;
+        return id >= 0 && id < dataById.length ? dataById[id] : null;
     }
 
     /**
      * Gets the id of a {@link TrackedData}.
      *
      * @param trackedData The {@link TrackedData} to get the id for.
-     * @return The id of the supplied id.
+     * @return The id of the supplied id, or -1 if it isn't registered.
      */
     public int getId(TrackedData<?> trackedData) {
-        return this.idMap.inverse().get(trackedData);
+        return trackedData.getId();
+    }
+
+    /**
+     * Gets the amount of registered {@link TrackedData}s.
+     *
+     * @return The amount of registered {@link TrackedData}s.
+     */
+    public int size() {
+        return this.dataById.length;
+    }
+
+    public static void onServerStarting() {
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> INSTANCE.freeze());
     }
 
     public static void onStartTracking() {
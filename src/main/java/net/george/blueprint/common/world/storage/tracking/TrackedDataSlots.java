@@ -0,0 +1,596 @@
+package net.george.blueprint.common.world.storage.tracking;
+
+import javax.annotation.Nullable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A dense store of {@link IDataManager.DataEntry}s indexed by the registry id of their {@link TrackedData}.
+ * <p>Reading a primitive {@link TrackedData} that has never been set doesn't allocate an entry.</p>
+ * <p>Dirty entries are tracked in a bitset indexed the same way, so finding them only visits the set bits.</p>
+ * <p>Entries know the store they're in, so marking or cleaning an entry directly also updates the bitset. An entry should only be in one store at a time.</p>
+ * <p>This is used by the entity implementation of {@link IDataManager}, but can be used for any other object type.</p>
+ *
+ * @author Mr.George
+ */
+public final class TrackedDataSlots {
+    private static final IDataManager.DataEntry<?>[] EMPTY = new IDataManager.DataEntry<?>[0];
+    private static final long[] EMPTY_BITS = new long[0];
+    private final DirtyView dirtyView = new DirtyView();
+    private IDataManager.DataEntry<?>[] entries = EMPTY;
+    private long[] dirtyBits = EMPTY_BITS;
+    private int size;
+    private int dirtyCount;
+    @Nullable
+    private MapView mapView;
+
+    private static int getId(TrackedData<?> trackedData) {
+        int id = trackedData.getId();
+        if (id < 0) {
+            throw new IllegalArgumentException(String.format("No key is registered for this Tracked Data: %s", trackedData));
+        }
+        return id;
+    }
+
+    /**
+     * Gets the entry for a {@link TrackedData}.
+     *
+     * @param trackedData The {@link TrackedData} to get the entry for.
+     * @param <T>         The type of value.
+     * @return The entry for the {@link TrackedData}, or null if there isn't one.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> IDataManager.DataEntry<T> get(TrackedData<T> trackedData) {
+        int id = getId(trackedData);
+        IDataManager.DataEntry<?>[] entries = this.entries;
+        return id < entries.length ? (IDataManager.DataEntry<T>) entries[id] : null;
+    }
+
+    /**
+     * Gets the entry for a {@link TrackedData}, creating it if it doesn't exist.
+     *
+     * @param trackedData The {@link TrackedData} to get the entry for.
+     * @param <T>         The type of value.
+     * @return The entry for the {@link TrackedData}.
+     */
+    public <T> IDataManager.DataEntry<T> getOrCreate(TrackedData<T> trackedData) {
+        IDataManager.DataEntry<T> entry = this.get(trackedData);
+        if (entry == null) {
+            entry = IDataManager.DataEntry.create(trackedData);
+            this.put(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Puts an entry into its slot, replacing any existing entry for its {@link TrackedData}.
+     * <p>The entry keeps its dirty state, so a dirty entry that gets synced is added to the dirty bitset.</p>
+     *
+     * @param entry The entry to put.
+     * @return The entry previously in the slot, or null if there wasn't one.
+     */
+    @Nullable
+    public IDataManager.DataEntry<?> put(IDataManager.DataEntry<?> entry) {
+        int id = getId(entry.getTrackedData());
+        IDataManager.DataEntry<?>[] entries = this.entries;
+        if (id >= entries.length) {
+            this.entries = entries = Arrays.copyOf(entries, Math.max(id + 1, TrackedDataManager.INSTANCE.size()));
+        }
+        IDataManager.DataEntry<?> previous = entries[id];
+        entries[id] = entry;
+        if (previous == null) {
+            this.size++;
+        } else if (previous != entry) {
+            this.detach(previous);
+        }
+        entry.owner = this;
+        if (entry.isDirty() && entry.getTrackedData().getSyncType() != SyncType.NOPE) {
+            this.markDirty(id);
+        } else {
+            this.clearDirty(id);
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the entry for a {@link TrackedData}.
+     *
+     * @param trackedData The {@link TrackedData} to remove the entry for.
+     * @return The removed entry, or null if there wasn't one.
+     */
+    @Nullable
+    public IDataManager.DataEntry<?> remove(TrackedData<?> trackedData) {
+        int id = getId(trackedData);
+        IDataManager.DataEntry<?>[] entries = this.entries;
+        if (id >= entries.length) {
+            return null;
+        }
+        IDataManager.DataEntry<?> previous = entries[id];
+        if (previous != null) {
+            entries[id] = null;
+            this.size--;
+            this.clearDirty(id);
+            this.detach(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        IDataManager.DataEntry<?>[] entries = this.entries;
+        for (IDataManager.DataEntry<?> entry : entries) {
+            if (entry != null) {
+                this.detach(entry);
+            }
+        }
+        Arrays.fill(entries, null);
+        Arrays.fill(this.dirtyBits, 0L);
+        this.size = 0;
+        this.dirtyCount = 0;
+    }
+
+    /**
+     * @return The amount of entries.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return If there are no entries.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Performs an action for every entry, in registry id order.
+     *
+     * @param action The action to perform.
+     */
+    public void forEach(Consumer<IDataManager.DataEntry<?>> action) {
+        for (IDataManager.DataEntry<?> entry : this.entries) {
+            if (entry != null) {
+                action.accept(entry);
+            }
+        }
+    }
+
+    /**
+     * Gets the value for a {@link TrackedData}.
+     * <p>Primitive values that have never been set are read from the default value without creating an entry.</p>
+     *
+     * @param trackedData The {@link TrackedData} to get the value for.
+     * @param <T>         The type of value.
+     * @return The value for the {@link TrackedData}.
+     */
+    public <T> T getValue(TrackedData<T> trackedData) {
+        IDataManager.DataEntry<T> entry = this.get(trackedData);
+        if (entry != null) {
+            return entry.getValue();
+        }
+        // Object values may be mutable, so they get an entry to keep the returned instance
+        return trackedData.getSlotKind() != SlotKind.OBJECT ? trackedData.getDefaultValue() : this.getOrCreate(trackedData).getValue();
+    }
+
+    /**
+     * Sets the value for a {@link TrackedData}.
+     *
+     * @param trackedData The {@link TrackedData} to set the value for.
+     * @param value       The value to set.
+     * @param dirty       If the entry should be marked dirty if its value changes.
+     * @param <T>         The type of value.
+     * @return If the value was changed.
+     */
+    public <T> boolean setValue(TrackedData<T> trackedData, T value, boolean dirty) {
+        return this.getOrCreate(trackedData).updateValue(value, dirty);
+    }
+
+    /**
+     * Gets the int value for a {@link TrackedData} without boxing it or creating an entry.
+     *
+     * @param trackedData The {@link TrackedData} to get the value for.
+     * @return The value for the {@link TrackedData}.
+     */
+    public int getInt(TrackedData<Integer> trackedData) {
+        IDataManager.DataEntry<Integer> entry = this.get(trackedData);
+        if (entry instanceof IDataManager.IntEntry intEntry) {
+            return intEntry.getInt();
+        }
+        return entry != null ? entry.getValue() : trackedData.getDefaultValue();
+    }
+
+    /**
+     * Sets the int value for a {@link TrackedData} without boxing it.
+     *
+     * @param trackedData The {@link TrackedData} to set the value for.
+     * @param value       The value to set.
+     * @param dirty       If the entry should be marked dirty if its value changes.
+     * @return If the value was changed.
+     */
+    public boolean setInt(TrackedData<Integer> trackedData, int value, boolean dirty) {
+        IDataManager.DataEntry<Integer> entry = this.getOrCreate(trackedData);
+        if (entry instanceof IDataManager.IntEntry intEntry) {
+            return intEntry.updateInt(value, dirty);
+        }
+        return entry.updateValue(value, dirty);
+    }
+
+    /**
+     * Gets the long value for a {@link TrackedData} without boxing it or creating an entry.
+     *
+     * @param trackedData The {@link TrackedData} to get the value for.
+     * @return The value for the {@link TrackedData}.
+     */
+    public long getLong(TrackedData<Long> trackedData) {
+        IDataManager.DataEntry<Long> entry = this.get(trackedData);
+        if (entry instanceof IDataManager.LongEntry longEntry) {
+            return longEntry.getLong();
+        }
+        return entry != null ? entry.getValue() : trackedData.getDefaultValue();
+    }
+
+    /**
+     * Sets the long value for a {@link TrackedData} without boxing it.
+     *
+     * @param trackedData The {@link TrackedData} to set the value for.
+     * @param value       The value to set.
+     * @param dirty       If the entry should be marked dirty if its value changes.
+     * @return If the value was changed.
+     */
+    public boolean setLong(TrackedData<Long> trackedData, long value, boolean dirty) {
+        IDataManager.DataEntry<Long> entry = this.getOrCreate(trackedData);
+        if (entry instanceof IDataManager.LongEntry longEntry) {
+            return longEntry.updateLong(value, dirty);
+        }
+        return entry.updateValue(value, dirty);
+    }
+
+    /**
+     * Gets the float value for a {@link TrackedData} without boxing it or creating an entry.
+     *
+     * @param trackedData The {@link TrackedData} to get the value for.
+     * @return The value for the {@link TrackedData}.
+     */
+    public float getFloat(TrackedData<Float> trackedData) {
+        IDataManager.DataEntry<Float> entry = this.get(trackedData);
+        if (entry instanceof IDataManager.FloatEntry floatEntry) {
+            return floatEntry.getFloat();
+        }
+        return entry != null ? entry.getValue() : trackedData.getDefaultValue();
+    }
+
+    /**
+     * Sets the float value for a {@link TrackedData} without boxing it.
+     *
+     * @param trackedData The {@link TrackedData} to set the value for.
+     * @param value       The value to set.
+     * @param dirty       If the entry should be marked dirty if its value changes.
+     * @return If the value was changed.
+     */
+    public boolean setFloat(TrackedData<Float> trackedData, float value, boolean dirty) {
+        IDataManager.DataEntry<Float> entry = this.getOrCreate(trackedData);
+        if (entry instanceof IDataManager.FloatEntry floatEntry) {
+            return floatEntry.updateFloat(value, dirty);
+        }
+        return entry.updateValue(value, dirty);
+    }
+
+    /**
+     * Gets the boolean value for a {@link TrackedData} without boxing it or creating an entry.
+     *
+     * @param trackedData The {@link TrackedData} to get the value for.
+     * @return The value for the {@link TrackedData}.
+     */
+    public boolean getBoolean(TrackedData<Boolean> trackedData) {
+        IDataManager.DataEntry<Boolean> entry = this.get(trackedData);
+        if (entry instanceof IDataManager.BooleanEntry booleanEntry) {
+            return booleanEntry.getBoolean();
+        }
+        return entry != null ? entry.getValue() : trackedData.getDefaultValue();
+    }
+
+    /**
+     * Sets the boolean value for a {@link TrackedData} without boxing it.
+     *
+     * @param trackedData The {@link TrackedData} to set the value for.
+     * @param value       The value to set.
+     * @param dirty       If the entry should be marked dirty if its value changes.
+     * @return If the value was changed.
+     */
+    public boolean setBoolean(TrackedData<Boolean> trackedData, boolean value, boolean dirty) {
+        IDataManager.DataEntry<Boolean> entry = this.getOrCreate(trackedData);
+        if (entry instanceof IDataManager.BooleanEntry booleanEntry) {
+            return booleanEntry.updateBoolean(value, dirty);
+        }
+        return entry.updateValue(value, dirty);
+    }
+
+    private void detach(IDataManager.DataEntry<?> entry) {
+        if (entry.owner == this) {
+            entry.owner = null;
+        }
+    }
+
+    /**
+     * Called by an entry in this store when it gets marked dirty.
+     *
+     * @param entry The entry that was marked dirty.
+     */
+    void onEntryDirty(IDataManager.DataEntry<?> entry) {
+        TrackedData<?> trackedData = entry.getTrackedData();
+        if (trackedData.getSyncType() != SyncType.NOPE && this.get(trackedData) == entry) {
+            this.markDirty(trackedData.getId());
+        }
+    }
+
+    /**
+     * Called by an entry in this store when it gets cleaned.
+     *
+     * @param entry The entry that was cleaned.
+     */
+    void onEntryClean(IDataManager.DataEntry<?> entry) {
+        TrackedData<?> trackedData = entry.getTrackedData();
+        if (this.get(trackedData) == entry) {
+            this.clearDirty(trackedData.getId());
+        }
+    }
+
+    private void markDirty(int id) {
+        long[] dirtyBits = this.dirtyBits;
+        int index = id >>> 6;
+        if (index >= dirtyBits.length) {
+            this.dirtyBits = dirtyBits = Arrays.copyOf(dirtyBits, (this.entries.length + 63) >>> 6);
+        }
+        long bit = 1L << id;
+        if ((dirtyBits[index] & bit) == 0L) {
+            dirtyBits[index] |= bit;
+            this.dirtyCount++;
+        }
+    }
+
+    private void clearDirty(int id) {
+        long[] dirtyBits = this.dirtyBits;
+        int index = id >>> 6;
+        long bit = 1L << id;
+        if (index < dirtyBits.length && (dirtyBits[index] & bit) != 0L) {
+            dirtyBits[index] &= ~bit;
+            this.dirtyCount--;
+        }
+    }
+
+    /**
+     * @return If any entry is dirty.
+     */
+    public boolean isDirty() {
+        return this.dirtyCount > 0;
+    }
+
+    /**
+     * Cleans the dirty entries, only visiting the set bits of the dirty bitset.
+     */
+    public void clean() {
+        if (this.dirtyCount == 0) {
+            return;
+        }
+        long[] dirtyBits = this.dirtyBits;
+        IDataManager.DataEntry<?>[] entries = this.entries;
+        for (int index = 0; index < dirtyBits.length; index++) {
+            long bits = dirtyBits[index];
+            while (bits != 0L) {
+                entries[(index << 6) + Long.numberOfTrailingZeros(bits)].clean();
+                bits &= bits - 1;
+            }
+            dirtyBits[index] = 0L;
+        }
+        this.dirtyCount = 0;
+    }
+
+    /**
+     * Cleans the entry of a {@link TrackedData} if it's dirty, leaving the other dirty entries as they are.
+     *
+     * @param trackedData The {@link TrackedData} to clean the entry of.
+     */
+    public void clean(TrackedData<?> trackedData) {
+        IDataManager.DataEntry<?> entry = this.get(trackedData);
+        if (entry != null) {
+            entry.clean();
+            this.clearDirty(getId(trackedData));
+        }
+    }
+
+    /**
+     * Gets a live view of the dirty entries, backed by the dirty bitset.
+     * <p>The view isn't copied, so it should be consumed before {@link #clean()} gets called.</p>
+     *
+     * @return A live view of the dirty entries.
+     */
+    public Collection<IDataManager.DataEntry<?>> getDirtyEntries() {
+        return this.dirtyView;
+    }
+
+    /**
+     * Replaces all entries with the entries of a map.
+     * <p>Passing this store's own {@link #asMap()} view leaves the entries untouched.</p>
+     * <p>Entries that are marked dirty and get synced are added to the dirty bitset.</p>
+     *
+     * @param map The map to copy the entries from.
+     */
+    public void setAll(Map<TrackedData<?>, IDataManager.DataEntry<?>> map) {
+        if (map != this.mapView) {
+            this.clear();
+            map.values().forEach(this::put);
+        }
+    }
+
+    /**
+     * Gets a live {@link Map} view of the entries.
+     * <p>This exists for compatibility with {@link IDataManager#getDataMap()}.</p>
+     *
+     * @return A live {@link Map} view of the entries.
+     */
+    public Map<TrackedData<?>, IDataManager.DataEntry<?>> asMap() {
+        MapView mapView = this.mapView;
+        return mapView != null ? mapView : (this.mapView = new MapView());
+    }
+
+    private final class MapView extends AbstractMap<TrackedData<?>, IDataManager.DataEntry<?>> {
+        private final Set<Map.Entry<TrackedData<?>, IDataManager.DataEntry<?>>> entrySet = new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<TrackedData<?>, IDataManager.DataEntry<?>>> iterator() {
+                return new SlotIterator();
+            }
+
+            @Override
+            public int size() {
+                return TrackedDataSlots.this.size;
+            }
+        };
+
+        @Override
+        public Set<Map.Entry<TrackedData<?>, IDataManager.DataEntry<?>>> entrySet() {
+            return this.entrySet;
+        }
+
+        @Override
+        public int size() {
+            return TrackedDataSlots.this.size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.get(key) != null;
+        }
+
+        @Override
+        public IDataManager.DataEntry<?> get(Object key) {
+            return key instanceof TrackedData<?> trackedData && trackedData.getId() >= 0 ? TrackedDataSlots.this.get(trackedData) : null;
+        }
+
+        @Override
+        public IDataManager.DataEntry<?> put(TrackedData<?> key, IDataManager.DataEntry<?> value) {
+            if (key != value.getTrackedData()) {
+                throw new IllegalArgumentException(String.format("Entry for %s can't be stored for %s", value.getTrackedData(), key));
+            }
+            return TrackedDataSlots.this.put(value);
+        }
+
+        @Override
+        public IDataManager.DataEntry<?> remove(Object key) {
+            return key instanceof TrackedData<?> trackedData && trackedData.getId() >= 0 ? TrackedDataSlots.this.remove(trackedData) : null;
+        }
+
+        @Override
+        public void clear() {
+            TrackedDataSlots.this.clear();
+        }
+    }
+
+    private final class SlotIterator implements Iterator<Map.Entry<TrackedData<?>, IDataManager.DataEntry<?>>> {
+        private int next = -1;
+        private int last = -1;
+
+        private SlotIterator() {
+            this.advance();
+        }
+
+        private void advance() {
+            IDataManager.DataEntry<?>[] entries = TrackedDataSlots.this.entries;
+            int index = this.next + 1;
+            while (index < entries.length && entries[index] == null) {
+                index++;
+            }
+            this.next = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next < TrackedDataSlots.this.entries.length;
+        }
+
+        @Override
+        public Map.Entry<TrackedData<?>, IDataManager.DataEntry<?>> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            IDataManager.DataEntry<?> entry = TrackedDataSlots.this.entries[this.next];
+            this.last = this.next;
+            this.advance();
+            return new AbstractMap.SimpleImmutableEntry<>(entry.getTrackedData(), entry);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            IDataManager.DataEntry<?> entry = TrackedDataSlots.this.entries[this.last];
+            TrackedDataSlots.this.entries[this.last] = null;
+            TrackedDataSlots.this.size--;
+            TrackedDataSlots.this.clearDirty(this.last);
+            TrackedDataSlots.this.detach(entry);
+            this.last = -1;
+        }
+    }
+
+    private final class DirtyView extends AbstractCollection<IDataManager.DataEntry<?>> {
+        @Override
+        public Iterator<IDataManager.DataEntry<?>> iterator() {
+            return new DirtyIterator();
+        }
+
+        @Override
+        public int size() {
+            return TrackedDataSlots.this.dirtyCount;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return TrackedDataSlots.this.dirtyCount == 0;
+        }
+    }
+
+    private final class DirtyIterator implements Iterator<IDataManager.DataEntry<?>> {
+        private final long[] dirtyBits = TrackedDataSlots.this.dirtyBits;
+        private int index;
+        private long bits;
+
+        private DirtyIterator() {
+            this.bits = this.dirtyBits.length > 0 ? this.dirtyBits[0] : 0L;
+            this.skipEmptyWords();
+        }
+
+        private void skipEmptyWords() {
+            while (this.bits == 0L && ++this.index < this.dirtyBits.length) {
+                this.bits = this.dirtyBits[this.index];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.bits != 0L;
+        }
+
+        @Override
+        public IDataManager.DataEntry<?> next() {
+            if (this.bits == 0L) {
+                throw new NoSuchElementException();
+            }
+            int id = (this.index << 6) + Long.numberOfTrailingZeros(this.bits);
+            this.bits &= this.bits - 1;
+            this.skipEmptyWords();
+            return TrackedDataSlots.this.entries[id];
+        }
+    }
+}
@@ -21,6 +21,7 @@ import net.george.blueprint.common.network.MessageC2SUpdateSlabfishHat;
 import net.george.blueprint.common.network.entity.MessageS2CEndimation;
 import net.george.blueprint.common.network.entity.MessageS2CTeleportEntity;
 import net.george.blueprint.common.network.entity.MessageS2CUpdateEntityData;
+import net.george.blueprint.common.network.entity.MessageS2CUpdateEntityDataBatch;
 import net.george.blueprint.common.network.entity.SpawnEntityS2CPacket;
 import net.george.blueprint.common.network.praticle.MessageS2CSpawnParticle;
 import net.george.blueprint.common.server.ServerLifecycleHooks;
@@ -38,6 +39,7 @@ import net.george.blueprint.core.api.config.util.ConfigLoader;
 import net.george.blueprint.core.api.network.SimpleChannel;
 import net.george.blueprint.core.api.recipe.CraftingHelper;
 import net.george.blueprint.core.endimator.EndimationLoader;
+import net.george.blueprint.core.endimator.LazyEndimationTicking;
 import net.george.blueprint.core.events.ModConfigEvents;
 import net.george.blueprint.core.other.BlueprintEvents;
 import net.george.blueprint.core.registry.*;
@@ -71,6 +73,7 @@ public class   Blueprint implements ModInitializer {
 		ConfigLoader.loadDefaultConfigPath();
 		CraftingHelper.init();
 		RewardHandler.registerEvents();
+		LazyEndimationTicking.registerEvents();
 		BiomeDictionary.init();
 
 		ModLoadingContext.registerConfig(MOD_ID, ModConfig.Type.CLIENT, BlueprintConfig.CLIENT_SPEC);
@@ -147,6 +150,7 @@ public class   Blueprint implements ModInitializer {
 		CHANNEL.registerS2CPacket(MessageS2CTeleportEntity.class, ++id, MessageS2CTeleportEntity::decode);
 		CHANNEL.registerS2CPacket(MessageS2CUpdateEntityData.class, ++id, MessageS2CUpdateEntityData::decode);
 		CHANNEL.registerC2SPacket(MessageC2SUpdateSlabfishHat.class, ++id, MessageC2SUpdateSlabfishHat::decode);
+		CHANNEL.registerS2CPacket(MessageS2CUpdateEntityDataBatch.class, ++id, MessageS2CUpdateEntityDataBatch::decode);
 
 		int default_id = -1;
 		PLAY_CHANNEL.registerS2CPacket(SpawnEntityS2CPacket.class, ++default_id, SpawnEntityS2CPacket::decode);
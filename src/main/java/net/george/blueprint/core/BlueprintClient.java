@@ -5,8 +5,10 @@ import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.george.blueprint.client.ChestManager;
 import net.george.blueprint.client.screen.shake.ScreenShakeHandler;
 import net.george.blueprint.common.server.LogicalSidedProvider;
+import net.george.blueprint.common.world.storage.tracking.TrackedDataManager;
 import net.george.blueprint.core.api.SignManager;
 import net.george.blueprint.core.api.config.network.ConfigSyncClient;
+import net.george.blueprint.core.endimator.entity.EndimationLod;
 
 public class BlueprintClient implements ClientModInitializer {
     @Override
@@ -14,6 +16,7 @@ public class BlueprintClient implements ClientModInitializer {
         ConfigSyncClient.INSTANCE.clientInit();
         ScreenShakeHandler.registerEvents();
         ChestManager.registerEvents();
+        EndimationLod.registerEvents();
         SignManager.setupAtlas();
 
         this.registerCallbacks();
@@ -21,5 +24,6 @@ public class BlueprintClient implements ClientModInitializer {
 
     private void registerCallbacks() {
         ClientLifecycleEvents.CLIENT_STARTED.register(client -> LogicalSidedProvider.setClient(() -> client));
+        ClientLifecycleEvents.CLIENT_STARTED.register(client -> TrackedDataManager.INSTANCE.freeze());
     }
 }
@@ -17,6 +17,10 @@ public final class BlueprintConfig {
      */
     public static final class Common {
         public final ForgeConfigSpec.ConfigValue<CommentedConfig> moddedBiomeSliceSizes;
+        public final ForgeConfigSpec.ConfigValue<Integer> moddedBiomeSliceRegionSize;
+        public final ForgeConfigSpec.ConfigValue<Integer> moddedBiomeSliceRegionCacheCapacity;
+        public final ForgeConfigSpec.ConfigValue<Boolean> batchTrackedDataSyncing;
+        public final ForgeConfigSpec.ConfigValue<Boolean> lazyUntrackedEndimationTicking;
 
         public Common(ForgeConfigSpec.Builder builder) {
             builder.comment(
@@ -31,6 +35,35 @@ public final class BlueprintConfig {
             config.setComment("minecraft:overworld", "For example, the overworld's slice size would be formatted like this");
             config.set("minecraft:overworld", 8);
             this.moddedBiomeSliceSizes = builder.define("modded_biome_slice_sizes", config);
+
+            this.moddedBiomeSliceRegionSize = builder
+                    .comment(
+                            "The width in blocks of the regions that modded biome slices get computed and cached in",
+                            "Each region gets computed once and is shared by all world generation threads, values that aren't a power of two get rounded up to one",
+                            "Setting this to 0 disables region caching and uses a small cache for each thread instead"
+                    )
+                    .defineInRange("modded_biome_slice_region_size", 512, 0, 1024);
+
+            this.moddedBiomeSliceRegionCacheCapacity = builder
+                    .comment(
+                            "The max amount of modded biome slice regions to keep cached for each dimension",
+                            "A region of 512 blocks takes 32 KiB and a region of 1024 blocks takes 128 KiB"
+                    )
+                    .defineInRange("modded_biome_slice_region_cache_capacity", 64, 1, 4096);
+
+            this.batchTrackedDataSyncing = builder
+                    .comment(
+                            "If tracked data changes should be collected during each server tick and sent as one packet per player at the end of it",
+                            "This greatly reduces the amount of packets sent when many entities change their tracked data in the same tick"
+                    )
+                    .define("batch_tracked_data_syncing", false);
+
+            this.lazyUntrackedEndimationTicking = builder
+                    .comment(
+                            "If the endimations of entities no player is tracking should stop getting ticked on the server, and get caught up in one step once a player tracks them or they are used",
+                            "Entities can opt out of this for endimations whose start and end callbacks matter on the server"
+                    )
+                    .define("lazy_untracked_endimation_ticking", false);
         }
     }
 
@@ -47,8 +80,12 @@ public final class BlueprintConfig {
         @ConfigKey("disable_experimental_settings_screen")
         public final ForgeConfigSpec.ConfigValue<Boolean> disableExperimentalSettingsScreenValue;
         public boolean disableExperimentalSettingsScreen;
+        @ConfigKey("cache_endimations")
+        public final ForgeConfigSpec.ConfigValue<Boolean> cacheEndimationsValue;
+        public boolean cacheEndimations;
 
         public final SlabfishSettings slabfishSettings;
+        public final EndimationLodSettings endimationLodSettings;
 
         Client(ForgeConfigSpec.Builder builder) {
             this.screenShakeScaleValue = builder
@@ -66,7 +103,13 @@ public final class BlueprintConfig {
                     .translation(makeTranslation("disable_experimental_settings_screen"))
                     .define("disableExperimentalSettingsScreen", true);
 
+            this.cacheEndimationsValue = builder
+                    .comment("If loaded endimations should be cached on disk, so endimation files that haven't changed don't need to get parsed again on the next resource reload")
+                    .translation(makeTranslation("cache_endimations"))
+                    .define("cacheEndimations", false);
+
             this.slabfishSettings = new SlabfishSettings(builder);
+            this.endimationLodSettings = new EndimationLodSettings(builder);
         }
 
         /**
@@ -76,6 +119,7 @@ public final class BlueprintConfig {
             this.screenShakeScale = this.screenShakeScaleValue.get();
             this.maxScreenShakers = this.maxScreenShakersValue.get();
             this.disableExperimentalSettingsScreen = this.disableExperimentalSettingsScreenValue.get();
+            this.cacheEndimations = this.cacheEndimationsValue.get();
         }
     }
 
@@ -117,6 +161,50 @@ public final class BlueprintConfig {
         }
     }
 
+    /**
+     * Class that stores all the information about the level of detail settings for animating Endimator entity models.
+     */
+    public static final class EndimationLodSettings {
+        @ConfigKey("endimation_lod_enabled")
+        public final ForgeConfigSpec.ConfigValue<Boolean> enabled;
+        @ConfigKey("endimation_lod_reduced_rate_distance")
+        public final ForgeConfigSpec.ConfigValue<Double> reducedRateDistance;
+        @ConfigKey("endimation_lod_reduced_rate_interval")
+        public final ForgeConfigSpec.ConfigValue<Integer> reducedRateInterval;
+        @ConfigKey("endimation_lod_minimal_distance")
+        public final ForgeConfigSpec.ConfigValue<Double> minimalDistance;
+        @ConfigKey("endimation_lod_frame_budget")
+        public final ForgeConfigSpec.ConfigValue<Integer> frameBudget;
+
+        EndimationLodSettings(ForgeConfigSpec.Builder builder) {
+            builder.comment("Level of detail settings for animated entity models.")
+                    .push("endimation_lod");
+
+            this.enabled = builder
+                    .comment("If animated entity models should be animated in less detail when far away from the camera")
+                    .translation(makeTranslation("endimation_lod.enabled"))
+                    .define("enabled", false);
+            this.reducedRateDistance = builder
+                    .comment("The distance from the camera past which the poses of animated entity models get updated at a reduced rate")
+                    .translation(makeTranslation("endimation_lod.reduced_rate_distance"))
+                    .defineInRange("reduced_rate_distance", 24.0D, 0.0D, 1024.0D);
+            this.reducedRateInterval = builder
+                    .comment("The amount of frames a pose gets reused for past the reduced rate distance")
+                    .translation(makeTranslation("endimation_lod.reduced_rate_interval"))
+                    .defineInRange("reduced_rate_interval", 3, 1, 60);
+            this.minimalDistance = builder
+                    .comment("The distance from the camera past which only the position keyframes of animated entity models get applied")
+                    .translation(makeTranslation("endimation_lod.minimal_distance"))
+                    .defineInRange("minimal_distance", 48.0D, 0.0D, 1024.0D);
+            this.frameBudget = builder
+                    .comment("The max amount of full animation evaluations per frame, past which poses get reused or only their position keyframes get applied. 0 disables the budget")
+                    .translation(makeTranslation("endimation_lod.frame_budget"))
+                    .defineInRange("frame_budget", 0, 0, Integer.MAX_VALUE);
+
+            builder.pop();
+        }
+    }
+
     private static String makeTranslation(String name) {
         return "blueprint.config." + name;
     }
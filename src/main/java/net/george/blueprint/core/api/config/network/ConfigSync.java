@@ -1,24 +1,31 @@
 package net.george.blueprint.core.api.config.network;
 
+import com.google.common.hash.Hashing;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.ServerLoginConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerLoginNetworking;
 import net.george.blueprint.core.Blueprint;
 import net.george.blueprint.core.api.config.ConfigTracker;
 import net.george.blueprint.core.api.config.ModConfig;
+import net.george.blueprint.core.events.ModConfigEvents;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 @SuppressWarnings("unused")
 public class ConfigSync {
@@ -28,48 +35,147 @@ public class ConfigSync {
     public static final ConfigSync INSTANCE;
     public static final Identifier SYNC_CONFIGS_CHANNEL;
     public static final Identifier MODDED_CONNECTION_CHANNEL;
+    public static final Identifier SYNC_CONFIG_DATA_CHANNEL;
+    //The largest config file a client accepts, so a bad length sent by a server can't make it allocate a huge buffer
+    static final int MAX_CONFIG_LENGTH = 8 * 1024 * 1024;
     private final ConfigTracker tracker;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
 
     private ConfigSync(ConfigTracker tracker) {
         this.tracker = tracker;
     }
 
     public void init() {
+        ModConfigEvents.LOADING.register(this::invalidateSnapshot);
+        ModConfigEvents.RELOADING.register(this::invalidateSnapshot);
         ServerLoginConnectionEvents.QUERY_START.register((handler, server, sender, synchronizer) -> {
-            List<Pair<String, PacketByteBuf>> pairs = this.syncConfigs();
-
-            for (Pair<String, PacketByteBuf> stringPacketByteBufPair : pairs) {
-                synchronizer.waitFor(server.submit(() ->
-                        sender.sendPacket(SYNC_CONFIGS_CHANNEL, stringPacketByteBufPair.getValue())));
-            }
-
+            PacketByteBuf manifest = this.createManifest();
+            synchronizer.waitFor(server.submit(() -> sender.sendPacket(SYNC_CONFIGS_CHANNEL, manifest)));
             synchronizer.waitFor(server.submit(() -> sender.sendPacket(MODDED_CONNECTION_CHANNEL, PacketByteBufs.create())));
         });
         ServerLoginNetworking.registerGlobalReceiver(SYNC_CONFIGS_CHANNEL, (server, handler, understood, buf, synchronizer, responseSender) -> {
             if (understood) {
-                String fileName = buf.readString(32767);
-                LOGGER.debug(FMLHSMARKER, "Received acknowledgement for config sync for {} from client", fileName);
+                int count = buf.readVarInt();
+                List<String> requestedFiles = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    requestedFiles.add(buf.readString(32767));
+                }
+                LOGGER.debug(FMLHSMARKER, "Received config sync manifest acknowledgement from client, {} configs were requested", count);
+                if (!requestedFiles.isEmpty()) {
+                    responseSender.sendPacket(SYNC_CONFIG_DATA_CHANNEL, this.createConfigData(requestedFiles));
+                }
+            }
+        });
+        ServerLoginNetworking.registerGlobalReceiver(SYNC_CONFIG_DATA_CHANNEL, (server, handler, understood, buf, synchronizer, responseSender) -> {
+            if (understood) {
+                int count = buf.readVarInt();
+                for (int i = 0; i < count; i++) {
+                    LOGGER.debug(FMLHSMARKER, "Received acknowledgement for config sync for {} from client", buf.readString(32767));
+                }
             }
         });
         ServerLoginNetworking.registerGlobalReceiver(MODDED_CONNECTION_CHANNEL, (server, handler, understood, buf, synchronizer, responseSender) ->
                 LOGGER.debug(FMLHSMARKER, "Received acknowledgement for modded connection marker from client"));
     }
 
-    private List<Pair<String, PacketByteBuf>> syncConfigs() {
-        Map<String, byte[]> configData = (this.tracker.configSets().get(ModConfig.Type.SERVER)).stream()
-                .collect(Collectors.toMap(ModConfig::getFileName, (config) -> {
-            try {
-                return Files.readAllBytes(config.getFullPath());
-            } catch (IOException var2) {
-                throw new RuntimeException(var2);
+    //Lists the file name and content hash of every synced config, so clients can skip configs they already hold
+    private PacketByteBuf createManifest() {
+        Map<String, Snapshot> snapshots = this.getSnapshots();
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeVarInt(snapshots.size());
+        snapshots.forEach((fileName, snapshot) -> {
+            buf.writeString(fileName);
+            buf.writeLong(snapshot.hash());
+        });
+        return buf;
+    }
+
+    //Batches the requested configs into one packet, using the already compressed snapshot data
+    private PacketByteBuf createConfigData(List<String> requestedFiles) {
+        Map<String, Snapshot> snapshots = this.getSnapshots();
+        List<String> fileNames = requestedFiles.stream().filter(snapshots::containsKey).toList();
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeVarInt(fileNames.size());
+        for (String fileName : fileNames) {
+            Snapshot snapshot = snapshots.get(fileName);
+            buf.writeString(fileName);
+            buf.writeLong(snapshot.hash());
+            buf.writeVarInt(snapshot.length());
+            buf.writeByteArray(snapshot.compressedData());
+        }
+        return buf;
+    }
+
+    private Map<String, Snapshot> getSnapshots() {
+        Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+        for (ModConfig config : this.tracker.configSets().get(ModConfig.Type.SERVER)) {
+            snapshots.put(config.getFileName(), this.snapshots.computeIfAbsent(config.getFileName(), fileName -> {
+                try {
+                    return Snapshot.of(Files.readAllBytes(config.getFullPath()));
+                } catch (IOException exception) {
+                    throw new RuntimeException(exception);
+                }
+            }));
+        }
+        return snapshots;
+    }
+
+    private void invalidateSnapshot(ModConfig config) {
+        if (config.getType() == ModConfig.Type.SERVER) {
+            this.snapshots.remove(config.getFileName());
+        }
+    }
+
+    static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 2 + 16);
+        byte[] buffer = new byte[4096];
+        while (!deflater.finished()) {
+            output.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return output.toByteArray();
+    }
+
+    static byte[] decompress(byte[] compressedData, int length) throws DataFormatException {
+        if (length < 0 || length > MAX_CONFIG_LENGTH) {
+            throw new DataFormatException("Config data length " + length + " is outside of the allowed range of 0 to " + MAX_CONFIG_LENGTH + " bytes");
+        }
+        Inflater inflater = new Inflater();
+        inflater.setInput(compressedData);
+        byte[] data = new byte[length];
+        int read = 0;
+        while (read < length && !inflater.finished()) {
+            int inflated = inflater.inflate(data, read, length - read);
+            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                break;
             }
-        }));
-        return configData.entrySet().stream().map((entry) -> {
-            PacketByteBuf buf = PacketByteBufs.create();
-            buf.writeString(entry.getKey());
-            buf.writeByteArray(entry.getValue());
-            return Pair.of("Config " + entry.getKey(), buf);
-        }).collect(Collectors.toList());
+            read += inflated;
+        }
+        inflater.end();
+        if (read != length) {
+            throw new DataFormatException("Expected " + length + " bytes of config data but got " + read);
+        }
+        return data;
+    }
+
+    static long hash(byte[] data) {
+        return Hashing.murmur3_128().hashBytes(data).asLong();
+    }
+
+    /**
+     * A pre-encoded copy of a synced config file.
+     *
+     * @param hash           The hash of the config file's contents.
+     * @param length         The length of the config file's contents.
+     * @param compressedData The compressed contents of the config file.
+     */
+    private record Snapshot(long hash, int length, byte[] compressedData) {
+        private static Snapshot of(byte[] data) {
+            return new Snapshot(hash(data), data.length, compress(data));
+        }
     }
 
     static {
@@ -77,6 +183,7 @@ public class ConfigSync {
         LOGGER = LogManager.getLogger();
         INSTANCE = new ConfigSync(ConfigTracker.INSTANCE);
         SYNC_CONFIGS_CHANNEL = new Identifier(Blueprint.MOD_ID, "sync_configs");
+        SYNC_CONFIG_DATA_CHANNEL = new Identifier(Blueprint.MOD_ID, "sync_config_data");
         MODDED_CONNECTION_CHANNEL = new Identifier(Blueprint.MOD_ID, "modded_connection");
     }
 }
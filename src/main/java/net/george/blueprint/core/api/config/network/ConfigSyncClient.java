@@ -7,13 +7,19 @@ import net.george.blueprint.core.api.config.ConfigTracker;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.network.PacketByteBuf;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
 
 @SuppressWarnings("unused")
 public class ConfigSyncClient {
     public static final ConfigSyncClient INSTANCE;
     private final ConfigTracker tracker;
+    private final Map<String, SyncedConfig> syncedConfigs = new ConcurrentHashMap<>();
 
     private ConfigSyncClient(ConfigTracker tracker) {
         this.tracker = tracker;
@@ -21,11 +27,19 @@ public class ConfigSyncClient {
 
     public void clientInit() {
         ClientLoginNetworking.registerGlobalReceiver(ConfigSync.SYNC_CONFIGS_CHANNEL, (client, handler, buf, listenerAdder) -> {
-            String fileName = this.receiveSyncedConfig(buf);
-            ConfigSync.LOGGER.debug(ConfigSync.FMLHSMARKER, "Received config sync for {} from server", fileName);
+            List<String> requestedFiles = this.receiveManifest(buf);
             PacketByteBuf response = PacketByteBufs.create();
-            response.writeString(fileName);
-            ConfigSync.LOGGER.debug(ConfigSync.FMLHSMARKER, "Sent config sync for {} to server", fileName);
+            response.writeVarInt(requestedFiles.size());
+            requestedFiles.forEach(response::writeString);
+            ConfigSync.LOGGER.debug(ConfigSync.FMLHSMARKER, "Requested {} configs from server", requestedFiles.size());
+            return CompletableFuture.completedFuture(response);
+        });
+        ClientLoginNetworking.registerGlobalReceiver(ConfigSync.SYNC_CONFIG_DATA_CHANNEL, (client, handler, buf, listenerAdder) -> {
+            List<String> fileNames = this.receiveSyncedConfigs(buf);
+            PacketByteBuf response = PacketByteBufs.create();
+            response.writeVarInt(fileNames.size());
+            fileNames.forEach(response::writeString);
+            ConfigSync.LOGGER.debug(ConfigSync.FMLHSMARKER, "Sent config sync for {} to server", fileNames);
             return CompletableFuture.completedFuture(response);
         });
         ClientLoginNetworking.registerGlobalReceiver(ConfigSync.MODDED_CONNECTION_CHANNEL, (client, handler, buf, listenerAdder) -> {
@@ -35,16 +49,61 @@ public class ConfigSyncClient {
         });
     }
 
-    private String receiveSyncedConfig(PacketByteBuf buf) {
-        String fileName = buf.readString(32767);
-        byte[] fileData = buf.readByteArray();
+    //Applies the configs already held with a matching hash and returns the names of the ones that need to be sent
+    private List<String> receiveManifest(PacketByteBuf buf) {
+        int count = buf.readVarInt();
+        List<String> requestedFiles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String fileName = buf.readString(32767);
+            long hash = buf.readLong();
+            SyncedConfig syncedConfig = this.syncedConfigs.get(fileName);
+            if (syncedConfig != null && syncedConfig.hash() == hash) {
+                ConfigSync.LOGGER.debug(ConfigSync.FMLHSMARKER, "Already holds config {} from server", fileName);
+                this.acceptSyncedConfig(fileName, syncedConfig.data());
+            } else {
+                requestedFiles.add(fileName);
+            }
+        }
+        return requestedFiles;
+    }
+
+    private List<String> receiveSyncedConfigs(PacketByteBuf buf) {
+        int count = buf.readVarInt();
+        List<String> fileNames = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String fileName = buf.readString(32767);
+            long hash = buf.readLong();
+            int length = buf.readVarInt();
+            byte[] compressedData = buf.readByteArray();
+            try {
+                byte[] fileData = ConfigSync.decompress(compressedData, length);
+                if (ConfigSync.hash(fileData) == hash) {
+                    this.syncedConfigs.put(fileName, new SyncedConfig(hash, fileData));
+                }
+                this.acceptSyncedConfig(fileName, fileData);
+                ConfigSync.LOGGER.debug(ConfigSync.FMLHSMARKER, "Received config sync for {} from server", fileName);
+            } catch (DataFormatException exception) {
+                ConfigSync.LOGGER.error(ConfigSync.FMLHSMARKER, "Failed to read synced config {} from server", fileName, exception);
+            }
+            fileNames.add(fileName);
+        }
+        return fileNames;
+    }
+
+    private void acceptSyncedConfig(String fileName, byte[] fileData) {
         if (!MinecraftClient.getInstance().isInSingleplayer()) {
             Optional.ofNullable(this.tracker.fileMap().get(fileName)).ifPresent((config) -> config.acceptSyncedConfig(fileData));
         }
-
-        return fileName;
     }
 
+    /**
+     * A config received from a server, kept so it doesn't need to be sent again while it's unchanged.
+     *
+     * @param hash The hash of the config file's contents.
+     * @param data The contents of the config file.
+     */
+    private record SyncedConfig(long hash, byte[] data) {}
+
     static {
         INSTANCE = new ConfigSyncClient(ConfigTracker.INSTANCE);
     }
@@ -31,22 +31,46 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Constructor;
-import java.util.ArrayList;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 @SuppressWarnings("unused")
 public class SimpleChannel {
     private static final Logger LOGGER = LogManager.getLogger("Simple Channel");
+    private static final int MAX_RETAINED_ENCODE_BUFFER = 1 << 20;
+    private static final ThreadLocal<PacketByteBuf> ENCODE_BUFFER = ThreadLocal.withInitial(PacketByteBufs::create);
 
     private final Identifier channelName;
     private final Map<Class<? extends C2SPacket>, Integer> c2sIdMap = new HashMap<>();
     private final Map<Class<? extends S2CPacket>, Integer> s2cIdMap = new HashMap<>();
+    private final ClassValue<Integer> c2sIds = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return c2sIdMap.get(type);
+        }
+    };
+    private final ClassValue<Integer> s2cIds = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return s2cIdMap.get(type);
+        }
+    };
     private final Int2ObjectMap<Function<PacketByteBuf, ? extends C2SPacket>> c2sDecoderMap = new Int2ObjectOpenHashMap<>();
     private final Int2ObjectMap<Function<PacketByteBuf, ? extends S2CPacket>> s2cDecoderMap = new Int2ObjectOpenHashMap<>();
+    private final Map<Class<?>, EncodeStats> encodeStats = new ConcurrentHashMap<>();
+    private volatile boolean reuseEncodeBuffers;
+    private volatile boolean collectEncodeStats;
 
     public SimpleChannel(Identifier channelName) {
         this.channelName = channelName;
@@ -65,6 +89,7 @@ public class SimpleChannel {
 
     public <T extends C2SPacket> void registerC2SPacket(Class<T> clazz, int id, Function<PacketByteBuf, T> decoder) {
         c2sIdMap.put(clazz, id);
+        c2sIds.remove(clazz);
         c2sDecoderMap.put(id, decoder);
     }
 
@@ -74,22 +99,15 @@ public class SimpleChannel {
      */
     public <T extends C2SPacket> void registerC2SPacket(Class<T> clazz, int id) {
         try {
-            Constructor<T> ctor = clazz.getDeclaredConstructor(PacketByteBuf.class);
-            ctor.setAccessible(true);
-            registerC2SPacket(clazz, id, buf -> {
-                try {
-                    return ctor.newInstance(buf);
-                } catch (Exception exception) {
-                    throw new RuntimeException(exception);
-                }
-            });
-        } catch (Exception exception) {
-            LOGGER.error("Could not register C2S packet for channel '" + channelName + "' with id " + id, exception);
+            registerC2SPacket(clazz, id, createConstructorDecoder(clazz));
+        } catch (Throwable throwable) {
+            LOGGER.error("Could not register C2S packet for channel '" + channelName + "' with id " + id, throwable);
         }
     }
 
     public <T extends S2CPacket> void registerS2CPacket(Class<T> clazz, int id, Function<PacketByteBuf, T> decoder) {
         s2cIdMap.put(clazz, id);
+        s2cIds.remove(clazz);
         s2cDecoderMap.put(id, decoder);
     }
 
@@ -99,44 +117,121 @@ public class SimpleChannel {
      */
     public <T extends S2CPacket> void registerS2CPacket(Class<T> clazz, int id) {
         try {
-            Constructor<T> constructor = clazz.getDeclaredConstructor(PacketByteBuf.class);
-            constructor.setAccessible(true);
-            registerS2CPacket(clazz, id, buf -> {
+            registerS2CPacket(clazz, id, createConstructorDecoder(clazz));
+        } catch (Throwable throwable) {
+            LOGGER.error("Could not register S2C packet for channel '" + channelName + "' with id " + id, throwable);
+        }
+    }
+
+    /**
+     * Creates a decoder that directly calls the constructor of a packet class accepting a {@link PacketByteBuf}.
+     * <p>The decoder is generated with {@link LambdaMetafactory}, so decoding doesn't go through reflection.
+     * If that isn't possible for the class, a decoder invoking the constructor's {@link MethodHandle} gets used instead.</p>
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<PacketByteBuf, T> createConstructorDecoder(Class<T> clazz) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+        MethodHandle constructor = lookup.findConstructor(clazz, MethodType.methodType(void.class, PacketByteBuf.class));
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class), constructor, MethodType.methodType(clazz, PacketByteBuf.class));
+            return (Function<PacketByteBuf, T>) callSite.getTarget().invoke();
+        } catch (LambdaConversionException exception) {
+            LOGGER.debug("Could not generate decoder for packet class '" + clazz.getName() + "', invoking its constructor handle instead", exception);
+            MethodHandle genericConstructor = constructor.asType(MethodType.methodType(Object.class, PacketByteBuf.class));
+            return buf -> {
                 try {
-                    return constructor.newInstance(buf);
-                } catch (Exception exception) {
-                    throw new RuntimeException(exception);
+                    return (T) genericConstructor.invokeExact(buf);
+                } catch (RuntimeException | Error exception) {
+                    throw exception;
+                } catch (Throwable throwable) {
+                    throw new RuntimeException(throwable);
                 }
-            });
-        } catch (Exception exception) {
-            LOGGER.error("Could not register S2C packet for channel '" + channelName + "' with id " + id, exception);
+            };
+        }
+    }
+
+    /**
+     * Makes packets get encoded into a reused per-thread buffer, and then copied into an exactly sized buffer.
+     * <p>This avoids growing a fresh buffer while encoding, which mostly helps large packets.</p>
+     *
+     * @param reuseEncodeBuffers If encode buffers should be reused.
+     * @return This channel.
+     */
+    public SimpleChannel setReuseEncodeBuffers(boolean reuseEncodeBuffers) {
+        this.reuseEncodeBuffers = reuseEncodeBuffers;
+        return this;
+    }
+
+    /**
+     * Makes this channel record the encode time and size of every packet it encodes, per packet class.
+     *
+     * @param collectEncodeStats If encode stats should be collected.
+     * @return This channel.
+     * @see #getEncodeStats()
+     */
+    public SimpleChannel setCollectEncodeStats(boolean collectEncodeStats) {
+        this.collectEncodeStats = collectEncodeStats;
+        return this;
+    }
+
+    /**
+     * Gets the encode stats collected for each packet class while {@link #setCollectEncodeStats(boolean)} is enabled.
+     *
+     * @return An unmodifiable view of the encode stats for each packet class.
+     */
+    public Map<Class<?>, EncodeStats> getEncodeStats() {
+        return Collections.unmodifiableMap(encodeStats);
+    }
+
+    /**
+     * Clears all the collected encode stats.
+     */
+    public void resetEncodeStats() {
+        encodeStats.clear();
+    }
+
+    private PacketByteBuf encode(int id, net.george.blueprint.core.api.network.packet.Packet packet) {
+        boolean collectStats = collectEncodeStats;
+        long start = collectStats ? System.nanoTime() : 0L;
+        PacketByteBuf buf;
+        if (reuseEncodeBuffers) {
+            PacketByteBuf encodeBuf = ENCODE_BUFFER.get();
+            encodeBuf.clear();
+            encodeBuf.writeVarInt(id);
+            packet.encode(encodeBuf);
+            buf = PacketByteBufs.copy(encodeBuf);
+            if (encodeBuf.capacity() > MAX_RETAINED_ENCODE_BUFFER) {
+                ENCODE_BUFFER.remove();
+            }
+        } else {
+            buf = PacketByteBufs.create();
+            buf.writeVarInt(id);
+            packet.encode(buf);
+        }
+        if (collectStats) {
+            encodeStats.computeIfAbsent(packet.getClass(), clazz -> new EncodeStats()).record(System.nanoTime() - start, buf.readableBytes());
         }
+        return buf;
     }
 
     @Nullable
     public PacketByteBuf createBuf(C2SPacket packet) {
-        Integer id = c2sIdMap.get(packet.getClass());
+        Integer id = c2sIds.get(packet.getClass());
         if (id == null) {
             LOGGER.error("Could not get id for C2S packet '" + packet + "' in channel '" + channelName + "'");
             return null;
         }
-        PacketByteBuf buf = PacketByteBufs.create();
-        buf.writeVarInt(id);
-        packet.encode(buf);
-        return buf;
+        return encode(id, packet);
     }
 
     @Nullable
     public PacketByteBuf createBuf(S2CPacket packet) {
-        Integer id = s2cIdMap.get(packet.getClass());
+        Integer id = s2cIds.get(packet.getClass());
         if (id == null) {
             LOGGER.error("Could not get id for S2C packet '" + packet + "' in channel '" + channelName + "'");
             return null;
         }
-        PacketByteBuf buf = PacketByteBufs.create();
-        buf.writeVarInt(id);
-        packet.encode(buf);
-        return buf;
+        return encode(id, packet);
     }
 
     @Nullable
@@ -147,6 +242,10 @@ public class SimpleChannel {
         return ClientPlayNetworking.createC2SPacket(channelName, buf);
     }
 
+    /**
+     * Encodes a packet once into a vanilla packet.
+     * <p>The returned packet can be sent to any amount of players with {@link #sendToClient(Packet, ServerPlayerEntity)} or {@link #sendToClients(Packet, Iterable)} without encoding it again.</p>
+     */
     @Nullable
     public Packet<?> createVanillaPacket(S2CPacket packet) {
         PacketByteBuf buf = createBuf(packet);
@@ -179,9 +278,17 @@ public class SimpleChannel {
         ServerPlayNetworking.send(player, channelName, buf);
     }
 
+    public void sendToClient(Packet<?> vanillaPacket, ServerPlayerEntity player) {
+        ServerPlayNetworking.getSender(player).sendPacket(vanillaPacket);
+    }
+
     public void sendToClients(S2CPacket packet, Iterable<ServerPlayerEntity> players) {
         Packet<?> vanillaPacket = createVanillaPacket(packet);
         if (vanillaPacket == null) return;
+        sendToClients(vanillaPacket, players);
+    }
+
+    public void sendToClients(Packet<?> vanillaPacket, Iterable<ServerPlayerEntity> players) {
         for (ServerPlayerEntity player : players) {
             ServerPlayNetworking.getSender(player).sendPacket(vanillaPacket);
         }
@@ -216,12 +323,13 @@ public class SimpleChannel {
     }
 
     public void sendToClientsTrackingAndSelf(S2CPacket packet, Entity entity) {
+        Packet<?> vanillaPacket = createVanillaPacket(packet);
+        if (vanillaPacket == null) return;
         Collection<ServerPlayerEntity> clients = PlayerLookup.tracking(entity);
+        sendToClients(vanillaPacket, clients);
         if (entity instanceof ServerPlayerEntity player && !clients.contains(player)) {
-            clients = new ArrayList<>(clients);
-            clients.add(player);
+            sendToClient(vanillaPacket, player);
         }
-        sendToClients(packet, clients);
     }
 
     public void sendToClientsAround(S2CPacket packet, ServerWorld world, Vec3d pos, double radius) {
@@ -236,6 +344,48 @@ public class SimpleChannel {
         return channelName;
     }
 
+    /**
+     * The encode stats of a packet class.
+     */
+    public static final class EncodeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private void record(long nanos, int bytes) {
+            this.count.increment();
+            this.nanos.add(nanos);
+            this.bytes.add(bytes);
+        }
+
+        /**
+         * @return The amount of times a packet of this class was encoded.
+         */
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        /**
+         * @return The total time spent encoding packets of this class, in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return this.nanos.sum();
+        }
+
+        /**
+         * @return The total amount of bytes encoded for packets of this class, including the packet id.
+         */
+        public long getTotalBytes() {
+            return this.bytes.sum();
+        }
+
+        @Override
+        public String toString() {
+            long count = this.getCount();
+            return "EncodeStats[count=" + count + ", totalNanos=" + this.getTotalNanos() + ", totalBytes=" + this.getTotalBytes() + ", averageBytes=" + (count == 0 ? 0 : this.getTotalBytes() / count) + "]";
+        }
+    }
+
     private class C2SHandler implements ServerPlayNetworking.PlayChannelHandler {
         @Override
         public void receive(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, PacketByteBuf buf, PacketSender responseSender) {
@@ -0,0 +1,152 @@
+package net.george.blueprint.core.endimator;
+
+import net.george.blueprint.core.endimator.interpolation.EndimationEaser;
+import net.george.blueprint.core.endimator.interpolation.EndimationInterpolator;
+import net.george.blueprint.core.endimator.interpolation.InterpolationType;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3f;
+
+import javax.annotation.Nullable;
+
+/**
+ * A baked form of an {@link Endimation} that {@link Endimator} can apply without boxing.
+ * <p>Every part and {@link KeyframeType} of the {@link Endimation} gets baked into a {@link Channel} of contiguous float arrays, with the transforms of its keyframes evaluated once and its easing functions resolved to {@link EndimationEaser}s.</p>
+ * <p>Only keyframes using {@link InterpolationType#LINEAR} or {@link InterpolationType#CATMULL_ROM} can be baked, the channels of other keyframes are left unbaked and get applied from the {@link Endimation} as before.</p>
+ *
+ * @author Mr.George
+ * @see Endimation#bake()
+ */
+final class BakedEndimation {
+    private static final int TYPES = KeyframeType.values().length;
+    private final Channel[] channels;
+
+    private BakedEndimation(Channel[] channels) {
+        this.channels = channels;
+    }
+
+    /**
+     * Bakes an {@link Endimation}.
+     *
+     * @param endimation An {@link Endimation} to bake.
+     * @return A new {@link BakedEndimation} for the {@link Endimation}.
+     */
+    static BakedEndimation bake(Endimation endimation) {
+        Endimation.PartKeyframes[] partKeyframesArray = endimation.getPartKeyframesArray();
+        KeyframeType[] types = KeyframeType.values();
+        Channel[] channels = new Channel[partKeyframesArray.length * TYPES];
+        for (int part = 0; part < partKeyframesArray.length; part++) {
+            for (KeyframeType type : types) {
+                channels[part * TYPES + type.ordinal()] = Channel.bake(type.getFrames(partKeyframesArray[part]));
+            }
+        }
+        return new BakedEndimation(channels);
+    }
+
+    /**
+     * Gets the baked {@link Channel} of a part for a {@link KeyframeType}.
+     *
+     * @param part The index of the part in {@link Endimation#getPartNames()}.
+     * @param type The {@link KeyframeType} to get the {@link Channel} for.
+     * @return The baked {@link Channel}, or null if the keyframes could not be baked.
+     */
+    @Nullable
+    Channel getChannel(int part, KeyframeType type) {
+        return this.channels[part * TYPES + type.ordinal()];
+    }
+
+    /**
+     * The baked keyframes of a part for a {@link KeyframeType}.
+     * <p>The values of each keyframe are stored as pre x, y, z followed by post x, y, z.</p>
+     *
+     * @author Mr.George
+     */
+    static final class Channel {
+        private final float[] times;
+        private final float[] values;
+        private final EndimationEaser[] easers;
+        private final boolean[] catmullRom;
+
+        private Channel(float[] times, float[] values, EndimationEaser[] easers, boolean[] catmullRom) {
+            this.times = times;
+            this.values = values;
+            this.easers = easers;
+            this.catmullRom = catmullRom;
+        }
+
+        @Nullable
+        private static Channel bake(EndimationKeyframe[] frames) {
+            int length = frames.length;
+            float[] times = new float[length];
+            float[] values = new float[length * 6];
+            EndimationEaser[] easers = new EndimationEaser[length];
+            boolean[] catmullRom = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                EndimationKeyframe frame = frames[i];
+                EndimationInterpolator interpolator = frame.interpolator;
+                InterpolationType type = interpolator.type();
+                if (type != InterpolationType.LINEAR && type != InterpolationType.CATMULL_ROM) {
+                    return null;
+                }
+                times[i] = frame.time;
+                int offset = i * 6;
+                values[offset] = frame.preX.get();
+                values[offset + 1] = frame.preY.get();
+                values[offset + 2] = frame.preZ.get();
+                values[offset + 3] = frame.postX.get();
+                values[offset + 4] = frame.postY.get();
+                values[offset + 5] = frame.postZ.get();
+                easers[i] = interpolator.primitiveEaser();
+                catmullRom[i] = type == InterpolationType.CATMULL_ROM;
+            }
+            return new Channel(times, values, easers, catmullRom);
+        }
+
+        /**
+         * Samples this channel at a given time, with the same results as applying the keyframes it was baked from.
+         *
+         * @param time The time passed since the start of the {@link Endimation}, measured in seconds.
+         * @param vec3 A {@link Vec3f} instance to set the sampled values on.
+         * @return If there are any keyframes to sample.
+         */
+        @SuppressWarnings("removal")
+        boolean sample(float time, Vec3f vec3) {
+            float[] times = this.times;
+            int length = times.length;
+            if (length <= 0) return false;
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (time <= times[middle]) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            int fromIndex = low - 1;
+            if (fromIndex < 0) fromIndex = 0;
+            int toIndex = fromIndex + 1;
+            if (toIndex > length - 1) toIndex = length - 1;
+            float fromTime = times[fromIndex];
+            float progress = this.easers[toIndex].ease(MathHelper.clamp((time - fromTime) / (times[toIndex] - fromTime), 0.0F, 1.0F));
+            float[] values = this.values;
+            int from = fromIndex * 6 + 3;
+            int to = toIndex * 6;
+            if (this.catmullRom[toIndex]) {
+                // Mirrors InterpolationType#CATMULL_ROM, which uses the keyframes around the one being approached
+                int previousFromIndex = toIndex - 2;
+                int oldFrom = previousFromIndex >= 0 ? previousFromIndex * 6 + 3 : from;
+                int nextToIndex = toIndex + 1;
+                int nextTo = nextToIndex < length ? nextToIndex * 6 : to;
+                vec3.set(
+                        InterpolationType.catmullRom(progress, values[oldFrom], values[from], values[to], values[nextTo]),
+                        InterpolationType.catmullRom(progress, values[oldFrom + 1], values[from + 1], values[to + 1], values[nextTo + 1]),
+                        InterpolationType.catmullRom(progress, values[oldFrom + 2], values[from + 2], values[to + 2], values[nextTo + 2])
+                );
+            } else {
+                vec3.set(MathHelper.lerp(progress, values[from], values[to]), MathHelper.lerp(progress, values[from + 1], values[to + 1]), MathHelper.lerp(progress, values[from + 2], values[to + 2]));
+            }
+            return true;
+        }
+    }
+}
@@ -136,6 +136,48 @@ public interface Endimatable extends EndimationEffectSource {
         }
     }
 
+    /**
+     * Advances the currently playing {@link PlayableEndimation} by a given amount of ticks at once.
+     * <p>This ends up at the same {@link EndimatedState#animationTick} as calling {@link #endimateTick()} that many times, but a looping {@link PlayableEndimation} only gets restarted once.</p>
+     *
+     * @param ticks The amount of ticks to advance by.
+     * @see LazyEndimationTicking
+     */
+    default void endimateTicks(long ticks) {
+        if (ticks <= 0) return;
+        EndimatedState endimatedState = this.getEndimatedState();
+        PlayableEndimation endimation = endimatedState.endimation;
+        if (endimation != PlayableEndimation.BLANK) {
+            int duration = endimation.duration();
+            long animationTick = endimatedState.animationTick + ticks;
+            if (animationTick < duration) {
+                endimatedState.animationTick = (int) animationTick;
+            } else {
+                PlayableEndimation.LoopType loopType = endimation.loopType();
+                if (loopType == PlayableEndimation.LoopType.LOOP) {
+                    this.setPlayingEndimation(endimation);
+                    endimatedState.animationTick = duration > 0 ? (int) (animationTick % duration) : 0;
+                } else if (loopType == PlayableEndimation.LoopType.HOLD) {
+                    endimatedState.animationTick = duration;
+                } else {
+                    this.resetEndimation();
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a {@link PlayableEndimation} needs to get ticked on the server even when no player is tracking this object.
+     * <p>Override this to return true for endimations whose {@link #onEndimationStart(PlayableEndimation, PlayableEndimation)} and {@link #onEndimationEnd(PlayableEndimation, PlayableEndimation)} callbacks matter on the server.</p>
+     *
+     * @param endimation The {@link PlayableEndimation} to check.
+     * @return If the {@link PlayableEndimation} needs to get ticked on the server even when no player is tracking this object.
+     * @see LazyEndimationTicking
+     */
+    default boolean requiresUntrackedEndimationTicks(PlayableEndimation endimation) {
+        return false;
+    }
+
     /**
      * Checks if the currently playing {@link PlayableEndimation} is {@link PlayableEndimation#BLANK}.
      *
@@ -164,6 +206,9 @@ public interface Endimatable extends EndimationEffectSource {
         public final EndimationEffectHandler effectHandler;
         public int animationTick;
         public PlayableEndimation endimation = PlayableEndimation.BLANK;
+        // The amount of players tracking the object and the world time its ticks have been skipped since, used by LazyEndimationTicking
+        int trackingPlayers;
+        long skippedSince = -1L;
 
         public EndimatedState(Endimatable endimatable) {
             this.effectHandler = new EndimationEffectHandler(endimatable);
@@ -9,6 +9,7 @@ import net.george.blueprint.core.endimator.effects.ConfiguredEndimationEffect;
 import net.george.blueprint.core.util.DataUtil;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.*;
 
 import static net.george.blueprint.common.codec.ErrorableOptionalFieldCodec.errorableOptional;
@@ -64,12 +65,18 @@ public final class Endimation {
     private final float length;
     private final float blendWeight;
     private final Object2ObjectArrayMap<String, PartKeyframes> partKeyframes;
+    private final String[] partNames;
+    private final PartKeyframes[] partKeyframesArray;
     private final ConfiguredEndimationEffect<?, ?>[] effects;
+    @Nullable
+    private BakedEndimation baked;
 
     public Endimation(float length, float blendWeight, Object2ObjectArrayMap<String, PartKeyframes> partKeyframes, ConfiguredEndimationEffect<?, ?>[] effects) {
         this.length = length;
         this.blendWeight = blendWeight;
         this.partKeyframes = partKeyframes;
+        this.partNames = partKeyframes.keySet().toArray(new String[0]);
+        this.partKeyframesArray = partKeyframes.values().toArray(new PartKeyframes[0]);
         this.effects = effects;
     }
 
@@ -103,6 +110,7 @@ public final class Endimation {
 
     /**
      * Gets the {@link #partKeyframes}.
+     * <p>This map should not be modified, as {@link Endimator} applies the parts snapshotted when this {@link Endimation} was created.</p>
      *
      * @return The {@link #partKeyframes}.
      */
@@ -110,6 +118,45 @@ public final class Endimation {
         return this.partKeyframes;
     }
 
+    /**
+     * Gets the names of the parts in {@link #partKeyframes}, in the same order as {@link #getPartKeyframesArray()}.
+     *
+     * @return The names of the parts in {@link #partKeyframes}.
+     */
+    String[] getPartNames() {
+        return this.partNames;
+    }
+
+    /**
+     * Gets the values of {@link #partKeyframes} as an array, so they can be iterated without allocating an iterator.
+     *
+     * @return The values of {@link #partKeyframes} as an array.
+     */
+    PartKeyframes[] getPartKeyframesArray() {
+        return this.partKeyframesArray;
+    }
+
+    /**
+     * Bakes this {@link Endimation} so {@link Endimator} can apply it without boxing.
+     * <p>This evaluates the transforms of every keyframe once, so it should only be used for {@link Endimation}s with constant transforms, like the ones loaded by {@link EndimationLoader}.</p>
+     *
+     * @return This {@link Endimation}.
+     */
+    public Endimation bake() {
+        this.baked = BakedEndimation.bake(this);
+        return this;
+    }
+
+    /**
+     * Gets the {@link #baked} form of this {@link Endimation}.
+     *
+     * @return The {@link #baked} form of this {@link Endimation}, or null if it has not been baked.
+     */
+    @Nullable
+    BakedEndimation getBaked() {
+        return this.baked;
+    }
+
     /**
      * Gets the {@link #effects}.
      *
@@ -0,0 +1,219 @@
+package net.george.blueprint.core.endimator;
+
+import com.google.common.hash.HashCode;
+import com.mojang.serialization.DataResult;
+import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
+import net.george.blueprint.core.Blueprint;
+import net.george.blueprint.core.endimator.effects.ConfiguredEndimationEffect;
+import net.george.blueprint.core.endimator.interpolation.EndimationEasers;
+import net.george.blueprint.core.endimator.interpolation.EndimationInterpolator;
+import net.george.blueprint.core.endimator.interpolation.InterpolationType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.util.Identifier;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reads and writes the on-disk cache of loaded {@link Endimation}s used by {@link EndimationLoader}.
+ * <p>Each cached {@link Endimation} is stored with the hash of the file it was loaded from, so unchanged files can skip JSON parsing on the next resource reload.</p>
+ * <p>Keyframes are stored in a compact binary form with their transforms already evaluated, and effects are stored as NBT encoded with {@link ConfiguredEndimationEffect#CODEC}.</p>
+ *
+ * @author Mr.George
+ */
+final class EndimationCache {
+    private static final int MAGIC = 0x454E444D;
+    private static final int VERSION = 1;
+    private static final KeyframeType[] KEYFRAME_TYPES = KeyframeType.values();
+
+    private EndimationCache() {}
+
+    /**
+     * Reads the cached {@link Endimation}s from a file.
+     * <p>A missing, outdated or broken cache file reads as an empty cache.</p>
+     *
+     * @param path The {@link Path} of the cache file.
+     * @return A map of the cached {@link Endimation}s.
+     */
+    static Map<Identifier, Entry> read(Path path) {
+        Map<Identifier, Entry> entries = new HashMap<>();
+        if (!Files.isRegularFile(path)) {
+            return entries;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                return entries;
+            }
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                Identifier location = new Identifier(input.readUTF());
+                byte[] hash = new byte[input.readUnsignedByte()];
+                input.readFully(hash);
+                entries.put(location, new Entry(HashCode.fromBytes(hash), readEndimation(input)));
+            }
+        } catch (Exception exception) {
+            Blueprint.LOGGER.warn("Could not read the Endimation cache, all Endimations will be parsed again", exception);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Writes {@link Endimation}s to a cache file.
+     * <p>{@link Endimation}s using unregistered interpolation types, easers or effects are left out.</p>
+     *
+     * @param path    The {@link Path} of the cache file.
+     * @param entries A map of the {@link Endimation}s to cache.
+     */
+    static void write(Path path, Map<Identifier, Entry> entries) {
+        try {
+            Files.createDirectories(path.getParent());
+            Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            int written = 0;
+            ByteArrayOutputStream endimationBytes = new ByteArrayOutputStream();
+            DataOutputStream endimationOutput = new DataOutputStream(endimationBytes);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            for (Map.Entry<Identifier, Entry> entry : entries.entrySet()) {
+                endimationBytes.reset();
+                if (writeEndimation(endimationOutput, entry.getValue().endimation())) {
+                    output.writeUTF(entry.getKey().toString());
+                    byte[] hash = entry.getValue().hash().asBytes();
+                    output.writeByte(hash.length);
+                    output.write(hash);
+                    endimationBytes.writeTo(output);
+                    written++;
+                }
+            }
+            try (DataOutputStream file = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                file.writeInt(MAGIC);
+                file.writeInt(VERSION);
+                file.writeInt(written);
+                bytes.writeTo(file);
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            Blueprint.LOGGER.warn("Could not write the Endimation cache", exception);
+        }
+    }
+
+    private static boolean writeEndimation(DataOutputStream output, Endimation endimation) throws IOException {
+        output.writeFloat(endimation.getLength());
+        output.writeFloat(endimation.getBlendWeight());
+        String[] partNames = endimation.getPartNames();
+        Endimation.PartKeyframes[] partKeyframesArray = endimation.getPartKeyframesArray();
+        output.writeInt(partNames.length);
+        for (int i = 0; i < partNames.length; i++) {
+            output.writeUTF(partNames[i]);
+            for (KeyframeType type : KEYFRAME_TYPES) {
+                EndimationKeyframe[] frames = type.getFrames(partKeyframesArray[i]);
+                output.writeInt(frames.length);
+                for (EndimationKeyframe frame : frames) {
+                    EndimationInterpolator interpolator = frame.interpolator;
+                    Identifier typeName = InterpolationType.REGISTRY.getKey(interpolator.type());
+                    Identifier easerName = EndimationEasers.REGISTRY.getKey(interpolator.easer());
+                    if (typeName == null || easerName == null) {
+                        return false;
+                    }
+                    output.writeFloat(frame.time);
+                    output.writeFloat(frame.preX.get());
+                    output.writeFloat(frame.preY.get());
+                    output.writeFloat(frame.preZ.get());
+                    output.writeFloat(frame.postX.get());
+                    output.writeFloat(frame.postY.get());
+                    output.writeFloat(frame.postZ.get());
+                    output.writeUTF(typeName.toString());
+                    output.writeUTF(easerName.toString());
+                }
+            }
+        }
+        ConfiguredEndimationEffect<?, ?>[] effects = endimation.getEffects();
+        output.writeBoolean(effects.length > 0);
+        if (effects.length > 0) {
+            DataResult<NbtElement> result = ConfiguredEndimationEffect.CODEC.listOf().encodeStart(NbtOps.INSTANCE, Arrays.asList(effects));
+            if (result.result().isEmpty()) {
+                return false;
+            }
+            NbtCompound compound = new NbtCompound();
+            compound.put("effects", result.result().get());
+            NbtIo.write(compound, output);
+        }
+        return true;
+    }
+
+    private static Endimation readEndimation(DataInputStream input) throws IOException {
+        float length = input.readFloat();
+        float blendWeight = input.readFloat();
+        int partCount = input.readInt();
+        Object2ObjectArrayMap<String, Endimation.PartKeyframes> partKeyframes = new Object2ObjectArrayMap<>(partCount);
+        Map<String, EndimationInterpolator> interpolators = new HashMap<>();
+        for (int i = 0; i < partCount; i++) {
+            String name = input.readUTF();
+            EndimationKeyframe[][] frames = new EndimationKeyframe[KEYFRAME_TYPES.length][];
+            for (int type = 0; type < frames.length; type++) {
+                EndimationKeyframe[] typeFrames = new EndimationKeyframe[input.readInt()];
+                for (int frame = 0; frame < typeFrames.length; frame++) {
+                    float time = input.readFloat();
+                    Supplier<Float> preX = constant(input.readFloat());
+                    Supplier<Float> preY = constant(input.readFloat());
+                    Supplier<Float> preZ = constant(input.readFloat());
+                    Supplier<Float> postX = constant(input.readFloat());
+                    Supplier<Float> postY = constant(input.readFloat());
+                    Supplier<Float> postZ = constant(input.readFloat());
+                    String typeName = input.readUTF();
+                    String easerName = input.readUTF();
+                    EndimationInterpolator interpolator = interpolators.computeIfAbsent(typeName + ' ' + easerName, key -> createInterpolator(typeName, easerName));
+                    typeFrames[frame] = new EndimationKeyframe(time, preX, preY, preZ, postX, postY, postZ, interpolator);
+                }
+                frames[type] = typeFrames;
+            }
+            partKeyframes.put(name, new Endimation.PartKeyframes(frames[0], frames[1], frames[2], frames[3]));
+        }
+        ConfiguredEndimationEffect<?, ?>[] effects = new ConfiguredEndimationEffect<?, ?>[0];
+        if (input.readBoolean()) {
+            NbtElement element = NbtIo.read(input).get("effects");
+            List<ConfiguredEndimationEffect<?, ?>> effectList = ConfiguredEndimationEffect.CODEC.listOf().parse(NbtOps.INSTANCE, element).getOrThrow(false, message -> {});
+            effects = effectList.toArray(new ConfiguredEndimationEffect<?, ?>[0]);
+        }
+        return new Endimation(length, blendWeight, partKeyframes, effects);
+    }
+
+    private static EndimationInterpolator createInterpolator(String typeName, String easerName) {
+        InterpolationType type = InterpolationType.REGISTRY.getValue(new Identifier(typeName));
+        Function<Float, Float> easer = EndimationEasers.REGISTRY.getValue(new Identifier(easerName));
+        if (type == null || easer == null) {
+            throw new IllegalStateException("Unknown interpolation " + typeName + " with easing " + easerName);
+        }
+        return new EndimationInterpolator(type, easer);
+    }
+
+    private static Supplier<Float> constant(float value) {
+        Float boxed = value;
+        return () -> boxed;
+    }
+
+    /**
+     * A cached {@link Endimation} and the hash of the file it was loaded from.
+     *
+     * @param hash       The hash of the file the {@link Endimation} was loaded from.
+     * @param endimation The {@link Endimation} loaded from the file.
+     * @author Mr.George
+     */
+    record Entry(HashCode hash, Endimation endimation) {}
+}
@@ -2,18 +2,29 @@ package net.george.blueprint.core.endimator;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.mojang.serialization.JsonOps;
+import net.fabricmc.loader.api.FabricLoader;
 import net.george.blueprint.core.Blueprint;
+import net.george.blueprint.core.BlueprintConfig;
+import net.minecraft.resource.Resource;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.resource.ResourceReloader;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.profiler.Profiler;
 
 import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -26,6 +37,7 @@ import java.util.concurrent.Executor;
 @SuppressWarnings({"deprecation", "OptionalGetWithoutIsPresent", "unused"})
 public final class EndimationLoader implements ResourceReloader {
     private static final JsonParser PARSER = new JsonParser();
+    private static final Path CACHE_PATH = FabricLoader.getInstance().getGameDir().resolve("blueprint-endimation-cache").resolve("endimations.bin");
     private final BiMap<Identifier, Endimation> registry = HashBiMap.create();
 
     /**
@@ -52,27 +64,37 @@ public final class EndimationLoader implements ResourceReloader {
 
     @Override
     public CompletableFuture<Void> reload(Synchronizer synchronizer, ResourceManager manager, Profiler prepareProfiler, Profiler applyProfiler, Executor prepareExecutor, Executor applyExecutor) {
-        return CompletableFuture.supplyAsync(() -> {
-            Map<Identifier, Endimation> endimations = new HashMap<>();
-            for (Identifier Identifier : manager.findResources("endimations", (file) -> file.endsWith(".json"))) {
-                try (InputStreamReader inputStreamReader = new InputStreamReader(manager.getResource(Identifier).getInputStream())) {
-                    var dataResult = Endimation.CODEC.decode(JsonOps.INSTANCE, PARSER.parse(inputStreamReader));
-                    var error = dataResult.error();
-                    if (error.isPresent()) {
-                        throw new JsonParseException(error.get().message());
-                    } else {
-                        String path = Identifier.getPath();
-                        Identifier adjustedLocation = new Identifier(Identifier.getNamespace(), path.substring(12, path.length() - 5));
-                        if (endimations.put(adjustedLocation, dataResult.result().get().getFirst()) != null) {
-                            Blueprint.LOGGER.warn("Loaded Duplicate Endimation: {}", adjustedLocation);
-                        }
+        boolean useCache = BlueprintConfig.CLIENT.cacheEndimationsValue.get();
+        return CompletableFuture.supplyAsync(() -> manager.findResources("endimations", (file) -> file.endsWith(".json")), prepareExecutor).thenCompose(locations -> {
+            Map<Identifier, EndimationCache.Entry> cache = useCache ? EndimationCache.read(CACHE_PATH) : Map.of();
+            List<CompletableFuture<LoadResult>> futures = new ArrayList<>(locations.size());
+            // Each file gets read, hashed, and parsed on its own task
+            for (Identifier location : locations) {
+                futures.add(CompletableFuture.supplyAsync(() -> load(manager, location, cache), prepareExecutor));
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(unused -> {
+                Map<Identifier, Endimation> endimations = new HashMap<>();
+                Map<Identifier, EndimationCache.Entry> entries = new HashMap<>();
+                boolean changed = cache.size() != locations.size();
+                for (CompletableFuture<LoadResult> future : futures) {
+                    LoadResult result = future.join();
+                    if (result == null) {
+                        changed = true;
+                        continue;
+                    }
+                    Identifier adjustedLocation = result.adjustedLocation();
+                    if (endimations.put(adjustedLocation, result.entry().endimation()) != null) {
+                        Blueprint.LOGGER.warn("Loaded Duplicate Endimation: {}", adjustedLocation);
                     }
-                } catch (Exception exception) {
-                    Blueprint.LOGGER.error("Error while loading Endimation: {}", Identifier, exception);
+                    entries.put(result.location(), result.entry());
+                    changed |= !result.cached();
                 }
-            }
-            return endimations;
-        }, prepareExecutor).thenCompose(synchronizer::whenPrepared).thenAcceptAsync(endimations -> {
+                if (useCache && changed) {
+                    EndimationCache.write(CACHE_PATH, entries);
+                }
+                return endimations;
+            });
+        }).thenCompose(synchronizer::whenPrepared).thenAcceptAsync(endimations -> {
             BiMap<Identifier, Endimation> registry = this.registry;
             registry.clear();
             registry.putAll(endimations);
@@ -80,4 +102,42 @@ public final class EndimationLoader implements ResourceReloader {
             Blueprint.LOGGER.info("Endimation Loader has loaded {} endimations", registry.size());
         }, applyExecutor);
     }
+
+    @Nullable
+    private static LoadResult load(ResourceManager manager, Identifier location, Map<Identifier, EndimationCache.Entry> cache) {
+        try {
+            byte[] bytes;
+            try (Resource resource = manager.getResource(location); InputStream inputStream = resource.getInputStream()) {
+                bytes = inputStream.readAllBytes();
+            }
+            String path = location.getPath();
+            Identifier adjustedLocation = new Identifier(location.getNamespace(), path.substring(12, path.length() - 5));
+            HashCode hash = Hashing.murmur3_128().hashBytes(bytes);
+            EndimationCache.Entry cached = cache.get(location);
+            if (cached != null && cached.hash().equals(hash)) {
+                return new LoadResult(location, adjustedLocation, new EndimationCache.Entry(hash, cached.endimation().bake()), true);
+            }
+            try (InputStreamReader inputStreamReader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+                var dataResult = Endimation.CODEC.decode(JsonOps.INSTANCE, PARSER.parse(inputStreamReader));
+                var error = dataResult.error();
+                if (error.isPresent()) {
+                    throw new JsonParseException(error.get().message());
+                }
+                return new LoadResult(location, adjustedLocation, new EndimationCache.Entry(hash, dataResult.result().get().getFirst().bake()), false);
+            }
+        } catch (Exception exception) {
+            Blueprint.LOGGER.error("Error while loading Endimation: {}", location, exception);
+            return null;
+        }
+    }
+
+    /**
+     * The result of loading a single {@link Endimation} file.
+     *
+     * @param location         The {@link Identifier} location of the file.
+     * @param adjustedLocation The {@link Identifier} key of the loaded {@link Endimation}.
+     * @param entry            The loaded {@link Endimation} and the hash of its file.
+     * @param cached           If the {@link Endimation} was taken from the cache.
+     */
+    private record LoadResult(Identifier location, Identifier adjustedLocation, EndimationCache.Entry entry, boolean cached) {}
 }
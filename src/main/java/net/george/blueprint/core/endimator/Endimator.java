@@ -1,19 +1,27 @@
 package net.george.blueprint.core.endimator;
 
-import it.unimi.dsi.fastutil.objects.Object2ObjectMaps;
 import net.minecraft.client.model.ModelPart;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3f;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
 
 /**
  * The core class of Endimator used to apply {@link Endimation} instances to {@link EndimatablePart} instances. Endimator: Animator for {@link Endimation} instances.
  * <p>This class works by storing <b>additive</b> animation values for {@link EndimatablePart} instances mapped to strings.</p>
  * <p>Multiple instances of this class can be safely used on the same set of {@link EndimatablePart} instances in the same frame when {@link ResetMode} is properly used.</p>
+ * <p>The parts of each applied {@link Endimation} are bound to the {@link PosedPart}s of this instance once and cached until the {@link #poseMap} gets modified through this instance.</p>
+ * <p>{@link Endimation}s that have been {@link Endimation#bake() baked} get applied from their baked float keyframes, without boxing.</p>
+ * <p>Each instance keeps its own scratch state, so instances posing different models can be applied concurrently. See {@link #applyAll(List, ResetMode)}.</p>
  *
  * @author SmellyModder (Luke Tonon)
  * @see Endimation
@@ -21,8 +29,15 @@ import java.util.function.Consumer;
  */
 @SuppressWarnings("unused")
 public final class Endimator {
-    private static final Vec3f ADD_VECTOR = new Vec3f();
+    private static final KeyframeType[] KEYFRAME_TYPES = KeyframeType.values();
     private final Map<String, PosedPart> poseMap;
+    private final Vec3f addVector = new Vec3f();
+    // Endimations are weakly referenced, so bindings of Endimations dropped by a resource reload get collected
+    private final Map<Endimation, Binding> bindings = new WeakHashMap<>();
+    @Nullable
+    private Endimation lastBound;
+    @Nullable
+    private Binding lastBinding;
 
     public Endimator(Map<String, PosedPart> poseMap) {
         this.poseMap = poseMap;
@@ -77,18 +92,30 @@ public final class Endimator {
         return partMap;
     }
 
-    private static void applyType(PosedPart posedPart, KeyframeType type, EndimationKeyframe[] frames, float blendWeight, float time) {
+    private void applyType(PosedPart posedPart, KeyframeType type, EndimationKeyframe[] frames, float blendWeight, float time) {
         int length = frames.length;
         if (length <= 0) return;
-        int fromIndex = MathHelper.binarySearch(0, length, i -> time <= frames[i].time) - 1;
+        // Finds the first frame at or after the time, same as MathHelper#binarySearch without allocating a predicate
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (time <= frames[middle].time) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        int fromIndex = low - 1;
         if (fromIndex < 0) fromIndex = 0;
         int toIndex = fromIndex + 1;
         if (toIndex > length - 1) toIndex = length - 1;
         EndimationKeyframe from = frames[fromIndex];
         float fromTime = from.time;
         EndimationKeyframe to = frames[toIndex];
-        to.apply(ADD_VECTOR, frames, from, to, toIndex, length, MathHelper.clamp((time - fromTime) / (to.time - fromTime), 0.0F, 1.0F));
-        type.apply(posedPart, ADD_VECTOR, blendWeight);
+        Vec3f addVector = this.addVector;
+        to.apply(addVector, frames, from, to, toIndex, length, MathHelper.clamp((time - fromTime) / (to.time - fromTime), 0.0F, 1.0F));
+        type.apply(posedPart, addVector, blendWeight);
     }
 
     /**
@@ -98,6 +125,7 @@ public final class Endimator {
      * @param part A {@link EndimatablePart} to put.
      */
     public void put(String name, EndimatablePart part) {
+        this.unbind();
         this.poseMap.put(name, PosedPart.part(part));
     }
 
@@ -109,6 +137,7 @@ public final class Endimator {
      * @param part    A {@link ModelPart} to recursively put.
      */
     public void putRecursive(String prefix, ModelPart part, boolean notRoot) {
+        this.unbind();
         Map<String, PosedPart> poseMap = this.poseMap;
         poseMap.put(prefix, PosedPart.part((EndimatablePart) part));
         if (notRoot) {
@@ -129,6 +158,7 @@ public final class Endimator {
      * @param part A {@link ModelPart} to recursively put.
      */
     public void putShortRecursive(String name, ModelPart part) {
+        this.unbind();
         this.poseMap.put(name, PosedPart.part((EndimatablePart) part));
         part.children.forEach(this::putShortRecursive);
     }
@@ -141,6 +171,7 @@ public final class Endimator {
      */
     @Nullable
     public PosedPart remove(String name) {
+        this.unbind();
         return this.poseMap.remove(name);
     }
 
@@ -154,6 +185,7 @@ public final class Endimator {
      * @param part A {@link ModelPart} to recursively remove.
      */
     public void removeShortRecursive(String name, ModelPart part) {
+        this.unbind();
         this.poseMap.remove(name);
         for (Map.Entry<String, ModelPart> entry : part.children.entrySet()) {
             this.removeShortRecursive(entry.getKey(), entry.getValue());
@@ -168,6 +200,7 @@ public final class Endimator {
      * @param notRoot Used internally by the recursion algorithm. Always use false.
      */
     public void removeRecursive(String prefix, ModelPart part, boolean notRoot) {
+        this.unbind();
         Map<String, PosedPart> poseMap = this.poseMap;
         poseMap.remove(prefix);
         if (notRoot) {
@@ -204,6 +237,7 @@ public final class Endimator {
      * Clears this instance's {@link #poseMap}.
      */
     public void clear() {
+        this.unbind();
         this.poseMap.clear();
     }
 
@@ -227,21 +261,249 @@ public final class Endimator {
      * @param resetMode  A {@link ResetMode} to use for preparing the {@link #poseMap} for application.
      */
     public void apply(Endimation endimation, float time, float weight, ResetMode resetMode) {
+        this.apply(endimation, time, weight, resetMode, KeyframeType.ALL_MASK);
+    }
+
+    /**
+     * Applies only some {@link KeyframeType}s of an {@link Endimation} with a weight multiplier at a given time.
+     * <p>This is useful for cheaper, less detailed animation, like that of far away models.</p>
+     *
+     * @param endimation An {@link Endimation} to apply.
+     * @param time       The time passed since the start of the {@link Endimation}, measured in seconds.
+     * @param weight     The weight multiplier to use.
+     * @param resetMode  A {@link ResetMode} to use for preparing the {@link #poseMap} for application.
+     * @param typeMask   A mask of the {@link KeyframeType}s to apply, see {@link KeyframeType#getMask()}.
+     */
+    public void apply(Endimation endimation, float time, float weight, ResetMode resetMode, int typeMask) {
         this.reset(resetMode);
-        var partKeyframesIterator = Object2ObjectMaps.fastIterator(endimation.getPartKeyframes());
-        var poseMap = this.poseMap;
+        Binding binding = this.bind(endimation);
+        PosedPart[] parts = binding.parts;
+        int[] partIndices = binding.partIndices;
+        Endimation.PartKeyframes[] partKeyframesArray = endimation.getPartKeyframesArray();
         float blendWeight = endimation.getBlendWeight() * weight;
-        while (partKeyframesIterator.hasNext()) {
-            var entry = partKeyframesIterator.next();
-            PosedPart posedPart = poseMap.get(entry.getKey());
-            if (posedPart != null) {
-                Endimation.PartKeyframes partKeyframes = entry.getValue();
-                applyType(posedPart, KeyframeType.POSITION, partKeyframes.getPosFrames(), blendWeight, time);
-                applyType(posedPart, KeyframeType.ROTATION, partKeyframes.getRotationFrames(), blendWeight, time);
-                applyType(posedPart, KeyframeType.OFFSET, partKeyframes.getOffsetFrames(), blendWeight, time);
-                applyType(posedPart, KeyframeType.SCALE, partKeyframes.getScaleFrames(), blendWeight, time);
-                posedPart.apply();
+        BakedEndimation baked = endimation.getBaked();
+        if (baked != null) {
+            this.applyBaked(baked, parts, partIndices, partKeyframesArray, blendWeight, time, typeMask);
+            return;
+        }
+        for (int i = 0; i < parts.length; i++) {
+            PosedPart posedPart = parts[i];
+            Endimation.PartKeyframes partKeyframes = partKeyframesArray[partIndices[i]];
+            for (KeyframeType type : KEYFRAME_TYPES) {
+                if ((typeMask & type.getMask()) != 0) {
+                    this.applyType(posedPart, type, type.getFrames(partKeyframes), blendWeight, time);
+                }
+            }
+            posedPart.apply();
+        }
+    }
+
+    private void applyBaked(BakedEndimation baked, PosedPart[] parts, int[] partIndices, Endimation.PartKeyframes[] partKeyframesArray, float blendWeight, float time, int typeMask) {
+        Vec3f addVector = this.addVector;
+        for (int i = 0; i < parts.length; i++) {
+            PosedPart posedPart = parts[i];
+            int partIndex = partIndices[i];
+            for (KeyframeType type : KEYFRAME_TYPES) {
+                if ((typeMask & type.getMask()) == 0) {
+                    continue;
+                }
+                BakedEndimation.Channel channel = baked.getChannel(partIndex, type);
+                if (channel == null) {
+                    this.applyType(posedPart, type, type.getFrames(partKeyframesArray[partIndex]), blendWeight, time);
+                } else if (channel.sample(time, addVector)) {
+                    type.apply(posedPart, addVector, blendWeight);
+                }
             }
+            posedPart.apply();
+        }
+    }
+
+    /**
+     * Saves the values of every {@link PosedPart} in the {@link #poseMap}, so they can be loaded later with {@link #loadPose(float[], ResetMode)}.
+     *
+     * @param pose An array to save the values into, or null to create a new one.
+     * @return The array the values were saved into, which is a new one if the supplied one had the wrong length.
+     */
+    public float[] savePose(@Nullable float[] pose) {
+        int length = this.poseMap.size() * PosedPart.VALUES;
+        if (pose == null || pose.length != length) {
+            pose = new float[length];
+        }
+        int offset = 0;
+        for (PosedPart posedPart : this.poseMap.values()) {
+            posedPart.save(pose, offset);
+            offset += PosedPart.VALUES;
+        }
+        return pose;
+    }
+
+    /**
+     * Loads values saved with {@link #savePose(float[])} onto every {@link PosedPart} in the {@link #poseMap} and applies them.
+     * <p>This does nothing if the {@link #poseMap} was modified since the values were saved.</p>
+     *
+     * @param pose      An array of values saved with {@link #savePose(float[])}.
+     * @param resetMode A {@link ResetMode} to use for preparing the {@link #poseMap} for loading.
+     * @return If the values were loaded.
+     */
+    public boolean loadPose(float[] pose, ResetMode resetMode) {
+        if (pose.length != this.poseMap.size() * PosedPart.VALUES) {
+            return false;
+        }
+        this.reset(resetMode);
+        int offset = 0;
+        for (PosedPart posedPart : this.poseMap.values()) {
+            posedPart.load(pose, offset);
+            posedPart.apply();
+            offset += PosedPart.VALUES;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the {@link Binding} of an {@link Endimation} to the {@link #poseMap}, resolving it on first use.
+     *
+     * @param endimation An {@link Endimation} to get the {@link Binding} for.
+     * @return The {@link Binding} of the {@link Endimation}.
+     */
+    private Binding bind(Endimation endimation) {
+        if (this.lastBound == endimation) {
+            return this.lastBinding;
+        }
+        Binding binding = this.bindings.get(endimation);
+        if (binding == null) {
+            binding = Binding.resolve(endimation, this.poseMap);
+            this.bindings.put(endimation, binding);
+        }
+        this.lastBound = endimation;
+        this.lastBinding = binding;
+        return binding;
+    }
+
+    /**
+     * Drops the resolved {@link Binding}s, so they get resolved again against the changed {@link #poseMap}.
+     */
+    private void unbind() {
+        this.bindings.clear();
+        this.lastBound = null;
+        this.lastBinding = null;
+    }
+
+    /**
+     * Applies a list of {@link Pose}s in parallel on the common {@link ForkJoinPool}.
+     *
+     * @param poses     A list of {@link Pose}s to apply.
+     * @param resetMode A {@link ResetMode} to use for preparing the {@link #poseMap} of each {@link Endimator} for application.
+     * @see #applyAll(List, ResetMode, ForkJoinPool)
+     */
+    public static void applyAll(List<Pose> poses, ResetMode resetMode) {
+        applyAll(poses, resetMode, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies a list of {@link Pose}s in parallel on a {@link ForkJoinPool}, returning once they have all been applied.
+     * <p>Each {@link Pose} must use a different {@link Endimator}, and no two {@link Endimator}s in the list may share {@link EndimatablePart}s, as the parts get modified without any locking.</p>
+     *
+     * @param poses     A list of {@link Pose}s to apply.
+     * @param resetMode A {@link ResetMode} to use for preparing the {@link #poseMap} of each {@link Endimator} for application.
+     * @param pool      The {@link ForkJoinPool} to apply the {@link Pose}s on.
+     */
+    public static void applyAll(List<Pose> poses, ResetMode resetMode, ForkJoinPool pool) {
+        int size = poses.size();
+        if (size <= PoseTask.THRESHOLD) {
+            for (int i = 0; i < size; i++) {
+                poses.get(i).apply(resetMode);
+            }
+        } else {
+            pool.invoke(new PoseTask(poses.toArray(new Pose[0]), resetMode, 0, size));
+        }
+    }
+
+    /**
+     * A record class for an {@link Endimation} to apply on an {@link Endimator} at a given time, used by {@link #applyAll(List, ResetMode)}.
+     *
+     * @param endimator  The {@link Endimator} of the model to pose.
+     * @param endimation An {@link Endimation} to apply.
+     * @param time       The time passed since the start of the {@link Endimation}, measured in seconds.
+     * @param weight     The weight multiplier to use.
+     * @author Mr.George
+     */
+    public record Pose(Endimator endimator, Endimation endimation, float time, float weight) {
+        public Pose(Endimator endimator, Endimation endimation, float time) {
+            this(endimator, endimation, time, 1.0F);
+        }
+
+        /**
+         * Applies this pose.
+         *
+         * @param resetMode A {@link ResetMode} to use for preparing the {@link Endimator#poseMap} for application.
+         */
+        public void apply(ResetMode resetMode) {
+            this.endimator.apply(this.endimation, this.time, this.weight, resetMode);
+        }
+    }
+
+    /**
+     * A {@link RecursiveAction} that splits a range of {@link Pose}s in halves until they are small enough to apply directly.
+     *
+     * @author Mr.George
+     */
+    private static final class PoseTask extends RecursiveAction {
+        private static final int THRESHOLD = 16;
+        private final Pose[] poses;
+        private final ResetMode resetMode;
+        private final int from, to;
+
+        private PoseTask(Pose[] poses, ResetMode resetMode, int from, int to) {
+            this.poses = poses;
+            this.resetMode = resetMode;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int from = this.from;
+            int to = this.to;
+            if (to - from <= THRESHOLD) {
+                Pose[] poses = this.poses;
+                ResetMode resetMode = this.resetMode;
+                for (int i = from; i < to; i++) {
+                    poses[i].apply(resetMode);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PoseTask(this.poses, this.resetMode, from, middle), new PoseTask(this.poses, this.resetMode, middle, to));
+            }
+        }
+    }
+
+    /**
+     * The resolved binding of an {@link Endimation}'s parts to the {@link PosedPart}s of an {@link Endimator}.
+     * <p>Parts of the {@link Endimation} that the {@link Endimator} doesn't have are dropped when resolving.</p>
+     *
+     * @author Mr.George
+     */
+    private static final class Binding {
+        private final PosedPart[] parts;
+        private final int[] partIndices;
+
+        private Binding(PosedPart[] parts, int[] partIndices) {
+            this.parts = parts;
+            this.partIndices = partIndices;
+        }
+
+        private static Binding resolve(Endimation endimation, Map<String, PosedPart> poseMap) {
+            String[] partNames = endimation.getPartNames();
+            List<PosedPart> parts = new ArrayList<>(partNames.length);
+            int[] partIndices = new int[partNames.length];
+            for (int i = 0; i < partNames.length; i++) {
+                PosedPart posedPart = poseMap.get(partNames[i]);
+                if (posedPart != null) {
+                    partIndices[parts.size()] = i;
+                    parts.add(posedPart);
+                }
+            }
+            return new Binding(parts.toArray(new PosedPart[0]), Arrays.copyOf(partIndices, parts.size()));
         }
     }
 
@@ -283,6 +545,8 @@ public final class Endimator {
      * @author SmellyModder (Luke Tonon)
      */
     public static final class PosedPart {
+        // The amount of values saved by save(float[], int)
+        static final int VALUES = 12;
         public final EndimatablePart part;
         public float x, y, z;
         public float xRot, yRot, zRot;
@@ -343,6 +607,36 @@ public final class Endimator {
             this.zScale = 0.0f;
         }
 
+        private void save(float[] values, int offset) {
+            values[offset] = this.x;
+            values[offset + 1] = this.y;
+            values[offset + 2] = this.z;
+            values[offset + 3] = this.xRot;
+            values[offset + 4] = this.yRot;
+            values[offset + 5] = this.zRot;
+            values[offset + 6] = this.xOffset;
+            values[offset + 7] = this.yOffset;
+            values[offset + 8] = this.zOffset;
+            values[offset + 9] = this.xScale;
+            values[offset + 10] = this.yScale;
+            values[offset + 11] = this.zScale;
+        }
+
+        private void load(float[] values, int offset) {
+            this.x = values[offset];
+            this.y = values[offset + 1];
+            this.z = values[offset + 2];
+            this.xRot = values[offset + 3];
+            this.yRot = values[offset + 4];
+            this.zRot = values[offset + 5];
+            this.xOffset = values[offset + 6];
+            this.yOffset = values[offset + 7];
+            this.zOffset = values[offset + 8];
+            this.xScale = values[offset + 9];
+            this.yScale = values[offset + 10];
+            this.zScale = values[offset + 11];
+        }
+
         /**
          * Adds positional values.
          *
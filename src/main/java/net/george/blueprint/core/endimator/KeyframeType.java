@@ -20,6 +20,10 @@ public enum KeyframeType {
     OFFSET(Endimation.PartKeyframes::getOffsetFrames, (pose, x, y, z, weight) -> pose.addOffset(x * weight, y * weight, z * weight)),
     SCALE(Endimation.PartKeyframes::getScaleFrames, (pose, x, y, z, weight) -> pose.addScale(weight * (x - 1.0F), weight * (y - 1.0F), weight * (z - 1.0F)));
 
+    /**
+     * A mask of all the {@link KeyframeType}s.
+     */
+    public static final int ALL_MASK = -1;
     private final Function<Endimation.PartKeyframes, EndimationKeyframe[]> getter;
     private final Procedure procedure;
 
@@ -38,6 +42,16 @@ public enum KeyframeType {
         return this.getter.apply(partKeyframes);
     }
 
+    /**
+     * Gets the bit of this type in a mask of {@link KeyframeType}s.
+     *
+     * @return The bit of this type in a mask of {@link KeyframeType}s.
+     * @see Endimator#apply(Endimation, float, float, Endimator.ResetMode, int)
+     */
+    public int getMask() {
+        return 1 << this.ordinal();
+    }
+
     /**
      * Applies a given transformation {@link Vec3f} to a {@link Endimator.PosedPart} using this type's {@link #procedure}.
      *
@@ -0,0 +1,79 @@
+package net.george.blueprint.core.endimator;
+
+import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
+import net.george.blueprint.core.BlueprintConfig;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+
+/**
+ * Handles the lazy ticking of the endimations of entities no player is tracking on the server.
+ * <p>When {@link BlueprintConfig.Common#lazyUntrackedEndimationTicking} is enabled, untracked entities stop calling {@link Endimatable#endimateTick()} and remember the world time they stopped at.
+ * The skipped ticks get caught up in one step with {@link Endimatable#endimateTicks(long)} once a player starts tracking the entity or its endimation state gets used.</p>
+ * <p>Players and endimations that {@link Endimatable#requiresUntrackedEndimationTicks(PlayableEndimation)} always get ticked.</p>
+ *
+ * @author Mr.George
+ */
+public final class LazyEndimationTicking {
+    private LazyEndimationTicking() {}
+
+    /**
+     * Checks if lazy ticking is enabled.
+     *
+     * @return If lazy ticking is enabled.
+     */
+    public static boolean isEnabled() {
+        return BlueprintConfig.COMMON.lazyUntrackedEndimationTicking.get();
+    }
+
+    /**
+     * Ticks the endimation of an entity on the server, or skips the tick if lazy ticking is enabled and no player is tracking it.
+     *
+     * @param entity The entity to tick.
+     */
+    public static void tick(Entity entity) {
+        Endimatable endimatable = (Endimatable) entity;
+        Endimatable.EndimatedState state = endimatable.getEndimatedState();
+        if (isEnabled() && state.trackingPlayers <= 0 && !(entity instanceof PlayerEntity) && !endimatable.requiresUntrackedEndimationTicks(state.endimation)) {
+            if (state.skippedSince < 0L) {
+                state.skippedSince = entity.world.getTime();
+            }
+            return;
+        }
+        catchUp(entity);
+        endimatable.endimateTick();
+    }
+
+    /**
+     * Catches up the skipped ticks of an entity's endimation.
+     * <p>If the entity is still untracked, ticks keep getting skipped from the current world time.</p>
+     *
+     * @param entity The entity to catch up.
+     */
+    public static void catchUp(Entity entity) {
+        Endimatable endimatable = (Endimatable) entity;
+        Endimatable.EndimatedState state = endimatable.getEndimatedState();
+        long skippedSince = state.skippedSince;
+        if (skippedSince >= 0L) {
+            long time = entity.world.getTime();
+            state.skippedSince = -1L;
+            endimatable.endimateTicks(time - skippedSince);
+            if (state.trackingPlayers <= 0) {
+                state.skippedSince = time;
+            }
+        }
+    }
+
+    public static void registerEvents() {
+        EntityTrackingEvents.START_TRACKING.register((trackedEntity, player) -> {
+            Endimatable.EndimatedState state = ((Endimatable) trackedEntity).getEndimatedState();
+            state.trackingPlayers++;
+            catchUp(trackedEntity);
+        });
+        EntityTrackingEvents.STOP_TRACKING.register((trackedEntity, player) -> {
+            Endimatable.EndimatedState state = ((Endimatable) trackedEntity).getEndimatedState();
+            if (state.trackingPlayers > 0) {
+                state.trackingPlayers--;
+            }
+        });
+    }
+}
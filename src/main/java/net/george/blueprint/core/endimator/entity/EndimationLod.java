@@ -0,0 +1,128 @@
+package net.george.blueprint.core.endimator.entity;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.george.blueprint.core.BlueprintConfig;
+import net.george.blueprint.core.endimator.Endimation;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.Entity;
+
+/**
+ * Handles the level of detail that {@link EndimatorEntityModel}s get animated with, configured in {@link BlueprintConfig.EndimationLodSettings}.
+ * <p>Models close to the camera get fully animated every frame. Past the reduced rate distance their poses get reused for a few frames, and past the minimal distance only their position keyframes get applied.</p>
+ * <p>A per-frame budget can also cap the amount of full animation evaluations, past which poses get reused or only their position keyframes get applied.</p>
+ * <p>This class is an enum to make it unable to be extended and to only have one instance ({@link #INSTANCE}).</p>
+ *
+ * @author Mr.George
+ * @see EndimatorEntityModel
+ */
+@Environment(EnvType.CLIENT)
+public enum EndimationLod {
+    INSTANCE;
+
+    private int frame;
+    private int fullEvaluations;
+    private boolean enabled;
+    private double reducedRateDistanceSquared;
+    private int reducedRateInterval;
+    private double minimalDistanceSquared;
+    private int frameBudget;
+
+    /**
+     * Starts a new frame, resetting the budget and caching the config values for it.
+     */
+    private void startFrame() {
+        this.frame++;
+        this.fullEvaluations = 0;
+        BlueprintConfig.EndimationLodSettings settings = BlueprintConfig.CLIENT.endimationLodSettings;
+        this.enabled = settings.enabled.get();
+        double reducedRateDistance = settings.reducedRateDistance.get();
+        this.reducedRateDistanceSquared = reducedRateDistance * reducedRateDistance;
+        this.reducedRateInterval = settings.reducedRateInterval.get();
+        double minimalDistance = settings.minimalDistance.get();
+        this.minimalDistanceSquared = minimalDistance * minimalDistance;
+        this.frameBudget = settings.frameBudget.get();
+    }
+
+    /**
+     * Checks if level of detail is enabled.
+     *
+     * @return If level of detail is enabled.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Gets the {@link Level} of detail to animate an entity with this frame.
+     *
+     * @param entity The entity to get the {@link Level} for.
+     * @return The {@link Level} of detail to animate the entity with.
+     */
+    public Level getLevel(Entity entity) {
+        double distanceSquared = entity.squaredDistanceTo(MinecraftClient.getInstance().gameRenderer.getCamera().getPos());
+        if (distanceSquared > this.minimalDistanceSquared) {
+            return Level.MINIMAL;
+        }
+        return distanceSquared > this.reducedRateDistanceSquared ? Level.REDUCED_RATE : Level.FULL;
+    }
+
+    /**
+     * Checks if a pose last updated on a given frame can still be reused at the {@link Level#REDUCED_RATE} level.
+     *
+     * @param lastFrame The frame the pose was last updated on.
+     * @return If the pose can still be reused.
+     */
+    public boolean canReuse(int lastFrame) {
+        return this.frame - lastFrame < this.reducedRateInterval;
+    }
+
+    /**
+     * Tries to use a full animation evaluation of the budget of this frame.
+     *
+     * @return If there was budget left for a full animation evaluation.
+     */
+    public boolean tryEvaluate() {
+        if (this.frameBudget > 0 && this.fullEvaluations >= this.frameBudget) {
+            return false;
+        }
+        this.fullEvaluations++;
+        return true;
+    }
+
+    /**
+     * Gets the current frame.
+     *
+     * @return The current frame.
+     */
+    public int getFrame() {
+        return this.frame;
+    }
+
+    public static void registerEvents() {
+        WorldRenderEvents.START.register(context -> INSTANCE.startFrame());
+    }
+
+    /**
+     * The levels of detail an {@link EndimatorEntityModel} can get animated with.
+     *
+     * @author Mr.George
+     */
+    public enum Level {
+        FULL,
+        REDUCED_RATE,
+        MINIMAL
+    }
+
+    /**
+     * The last pose of an entity, so it can get reused on the frames its model doesn't get fully animated.
+     *
+     * @author Mr.George
+     */
+    static final class PoseCache {
+        Endimation endimation;
+        float[] pose;
+        int frame;
+    }
+}
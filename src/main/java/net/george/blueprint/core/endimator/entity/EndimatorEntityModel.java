@@ -5,15 +5,19 @@ import net.fabricmc.api.Environment;
 import net.george.blueprint.core.endimator.Endimatable;
 import net.george.blueprint.core.endimator.Endimation;
 import net.george.blueprint.core.endimator.Endimator;
+import net.george.blueprint.core.endimator.KeyframeType;
 import net.george.blueprint.core.endimator.PlayableEndimation;
 import net.george.blueprint.client.ClientInfo;
 import net.minecraft.client.render.entity.model.EntityModel;
 import net.minecraft.entity.Entity;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * An {@link EntityModel} extension that simplifies the animation of {@link Endimatable} entities.
+ * <p>Entities get animated with the level of detail of {@link EndimationLod}.</p>
  *
  * @param <E> The type of entity for the model.
  * @author SmellyModder (Luke Tonon)
@@ -23,6 +27,8 @@ import java.util.HashMap;
 public abstract class EndimatorEntityModel<E extends Entity & Endimatable> extends EntityModel<E> {
     protected Endimator endimator = new Endimator(new HashMap<>());
     protected E entity;
+    // The last poses of entities animated by this model, used for the frames they don't get fully animated on
+    private final Map<E, EndimationLod.PoseCache> poseCaches = new WeakHashMap<>();
 
     public EndimatorEntityModel() {
         super();
@@ -42,11 +48,39 @@ public abstract class EndimatorEntityModel<E extends Entity & Endimatable> exten
             if (time > length) {
                 time = length;
             }
-            this.endimator.apply(endimation, time, Endimator.ResetMode.ALL);
+            EndimationLod lod = EndimationLod.INSTANCE;
+            if (lod.isEnabled()) {
+                this.animateModelWithLod(lod, endimatedEntity, endimation, time);
+            } else {
+                this.endimator.apply(endimation, time, Endimator.ResetMode.ALL);
+            }
             endimatedEntity.getEffectHandler().update(endimation, time);
         }
     }
 
+    private void animateModelWithLod(EndimationLod lod, E endimatedEntity, Endimation endimation, float time) {
+        Endimator endimator = this.endimator;
+        EndimationLod.Level level = lod.getLevel(endimatedEntity);
+        if (level != EndimationLod.Level.MINIMAL) {
+            EndimationLod.PoseCache cache = this.poseCaches.computeIfAbsent(endimatedEntity, entity -> new EndimationLod.PoseCache());
+            boolean hasPose = cache.pose != null && cache.endimation == endimation;
+            if (hasPose && level == EndimationLod.Level.REDUCED_RATE && lod.canReuse(cache.frame) && endimator.loadPose(cache.pose, Endimator.ResetMode.ALL)) {
+                return;
+            }
+            if (lod.tryEvaluate()) {
+                endimator.apply(endimation, time, Endimator.ResetMode.ALL);
+                cache.endimation = endimation;
+                cache.pose = endimator.savePose(cache.pose);
+                cache.frame = lod.getFrame();
+                return;
+            }
+            if (hasPose && endimator.loadPose(cache.pose, Endimator.ResetMode.ALL)) {
+                return;
+            }
+        }
+        endimator.apply(endimation, time, 1.0F, Endimator.ResetMode.ALL, KeyframeType.POSITION.getMask());
+    }
+
     @Override
     public void setAngles(E entity, float limbAngle, float limbDistance, float animationProgress, float headYaw, float headPitch) {
         this.entity = entity;
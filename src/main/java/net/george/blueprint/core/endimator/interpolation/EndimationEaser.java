@@ -0,0 +1,37 @@
+package net.george.blueprint.core.endimator.interpolation;
+
+import java.util.function.Function;
+
+/**
+ * An easing function that works on primitive floats, so easing doesn't box the progress on every frame.
+ * <p>This also implements {@link Function} so it can be used anywhere an easing function of {@link EndimationEasers} is expected.</p>
+ *
+ * @author Mr.George
+ * @see EndimationEasers
+ */
+@FunctionalInterface
+public interface EndimationEaser extends Function<Float, Float> {
+    /**
+     * Transforms the progress of a keyframe.
+     *
+     * @param progress A percentage of how far the keyframe is to being done. Should be between 0 and 1.
+     * @return The eased progress.
+     */
+    float ease(float progress);
+
+    @Override
+    default Float apply(Float progress) {
+        return this.ease(progress);
+    }
+
+    /**
+     * Gets an {@link EndimationEaser} for an easing function.
+     * <p>Easing functions that don't implement this interface get wrapped, and keep boxing the progress.</p>
+     *
+     * @param easer An easing function to get an {@link EndimationEaser} for.
+     * @return An {@link EndimationEaser} for the easing function.
+     */
+    static EndimationEaser of(Function<Float, Float> easer) {
+        return easer instanceof EndimationEaser primitive ? primitive : progress -> easer.apply(progress);
+    }
+}
@@ -9,6 +9,7 @@ import java.util.function.Function;
 /**
  * A registry class for identifiable functions that specify the rate of change of a parameter over time.
  * <p>This registry is used when serializing and deserializing {@link InterpolationType} instances.</p>
+ * <p>The built-in functions are {@link EndimationEaser}s, so they can be applied without boxing.</p>
  * <p>Pull Requests to add more of these are welcomed!</p>
  *
  * @author SmellyModder (Luke Tonon)
@@ -16,7 +17,7 @@ import java.util.function.Function;
 @SuppressWarnings("unused")
 public final class EndimationEasers {
     public static final BasicRegistry<Function<Float, Float>> REGISTRY = new BasicRegistry<>();
-    public static final Function<Float, Float> LINEAR = register("linear", Function.identity());
+    public static final Function<Float, Float> LINEAR = register("linear", progress -> progress);
     public static final Function<Float, Float> EASE_IN_SINE = register("ease_in_sine", progress -> 1.0F - (float) Math.cos(MathHelper.HALF_PI * progress));
     public static final Function<Float, Float> EASE_OUT_SINE = register("ease_out_sine", progress -> (float) Math.sin(MathHelper.HALF_PI * progress));
     public static final Function<Float, Float> EASE_IN_OUT_SINE = register("ease_in_out_sine", progress -> (float) ((-Math.cos(Math.PI * progress) + 1.0F) * 0.5F));
@@ -36,13 +37,14 @@ public final class EndimationEasers {
 
     private EndimationEasers() {}
 
-    private static Function<Float, Float> register(String name, Function<Float, Float> easer) {
+    private static Function<Float, Float> register(String name, EndimationEaser easer) {
         REGISTRY.register(new Identifier(name), easer);
         return easer;
     }
 
     /**
      * Registers an easing function with a {@link Identifier} name.
+     * <p>Implement {@link EndimationEaser} to have the function applied without boxing.</p>
      *
      * @param name  A {@link Identifier} name for the function.
      * @param easer An easing function to register.
@@ -40,6 +40,16 @@ public record EndimationInterpolator(InterpolationType type, Function<Float, Flo
         this.type.apply(vec3, keyframes, from, to, index, keyframeCount, this.easer.apply(progress));
     }
 
+    /**
+     * Gets the internal {@link #easer} as an {@link EndimationEaser}.
+     *
+     * @return The internal {@link #easer} as an {@link EndimationEaser}.
+     * @see EndimationEaser#of(Function)
+     */
+    public EndimationEaser primitiveEaser() {
+        return EndimationEaser.of(this.easer);
+    }
+
     public InterpolationType type() {
         return this.type;
     }
@@ -9,6 +9,8 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3f;
 
+import javax.annotation.Nullable;
+
 /**
  * The interface representing an identifiable function that applies progressed dimensional values from {@link EndimationKeyframe} instances.
  * Use {@link #REGISTRY} to register a new {@link InterpolationType}.
@@ -106,6 +108,28 @@ public interface InterpolationType {
             return interpolationType;
         }
 
+        /**
+         * Gets the {@link Identifier} name of a registered {@link InterpolationType}.
+         *
+         * @param interpolationType An {@link InterpolationType} to get the name of.
+         * @return The {@link Identifier} name of the {@link InterpolationType}, or null if it isn't registered.
+         */
+        @Nullable
+        public Identifier getKey(InterpolationType interpolationType) {
+            return this.registry.getKey(interpolationType);
+        }
+
+        /**
+         * Gets the {@link InterpolationType} registered with an {@link Identifier} name.
+         *
+         * @param name A {@link Identifier} name to look up.
+         * @return The {@link InterpolationType} registered with the name, or null if there is none.
+         */
+        @Nullable
+        public InterpolationType getValue(Identifier name) {
+            return this.registry.getValue(name);
+        }
+
         /**
          * Gets the {@link #registry} as a codec for serializing and deserializing {@link InterpolationType} types.
          *
@@ -1,17 +1,18 @@
 package net.george.blueprint.core.mixin;
 
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import net.george.blueprint.common.world.storage.tracking.IDataManager;
 import net.george.blueprint.common.world.storage.tracking.SyncType;
 import net.george.blueprint.common.world.storage.tracking.TrackedData;
 import net.george.blueprint.common.world.storage.tracking.TrackedDataManager;
+import net.george.blueprint.common.world.storage.tracking.TrackedDataSlots;
 import net.george.blueprint.core.Blueprint;
 import net.george.blueprint.core.endimator.Endimatable;
+import net.george.blueprint.core.endimator.LazyEndimationTicking;
+import net.george.blueprint.core.endimator.PlayableEndimation;
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtList;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Position;
 import net.minecraft.util.math.Vec3d;
@@ -23,7 +24,7 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
-import java.util.Iterator;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -34,89 +35,125 @@ public abstract class EntityMixin implements IDataManager, Endimatable {
     public World world;
     @Shadow
     private Vec3d pos;
-    private Map<TrackedData<?>, IDataManager.DataEntry<?>> dataMap = Maps.newHashMap();
-    private boolean dirty = false;
+    private final TrackedDataSlots dataSlots = new TrackedDataSlots();
     private final EndimatedState endimatedState = new EndimatedState(this);
 
     @Shadow
     public abstract BlockPos getLandingPos();
 
-    @SuppressWarnings("unchecked")
     public <T> void setValue(TrackedData<T> trackedData, T value) {
-        IDataManager.DataEntry<T> entry = (IDataManager.DataEntry<T>)this.dataMap.computeIfAbsent(trackedData, IDataManager.DataEntry::new);
-        if (!entry.getValue().equals(value)) {
-            boolean dirty = !this.world.isClient && entry.getTrackedData().getSyncType() != SyncType.NOPE;
-            entry.setValue(value, dirty);
-            this.dirty = dirty;
-        }
-
+        this.dataSlots.setValue(trackedData, value, !this.world.isClient && trackedData.getSyncType() != SyncType.NOPE);
     }
 
-    @SuppressWarnings("unchecked")
     public <T> T getValue(TrackedData<T> trackedData) {
-        return ((IDataManager.DataEntry<T>)this.dataMap.computeIfAbsent(trackedData, IDataManager.DataEntry::new)).getValue();
+        return this.dataSlots.getValue(trackedData);
+    }
+
+    public void setIntValue(TrackedData<Integer> trackedData, int value) {
+        this.dataSlots.setInt(trackedData, value, !this.world.isClient && trackedData.getSyncType() != SyncType.NOPE);
+    }
+
+    public int getIntValue(TrackedData<Integer> trackedData) {
+        return this.dataSlots.getInt(trackedData);
+    }
+
+    public void setLongValue(TrackedData<Long> trackedData, long value) {
+        this.dataSlots.setLong(trackedData, value, !this.world.isClient && trackedData.getSyncType() != SyncType.NOPE);
+    }
+
+    public long getLongValue(TrackedData<Long> trackedData) {
+        return this.dataSlots.getLong(trackedData);
+    }
+
+    public void setFloatValue(TrackedData<Float> trackedData, float value) {
+        this.dataSlots.setFloat(trackedData, value, !this.world.isClient && trackedData.getSyncType() != SyncType.NOPE);
+    }
+
+    public float getFloatValue(TrackedData<Float> trackedData) {
+        return this.dataSlots.getFloat(trackedData);
+    }
+
+    public void setBooleanValue(TrackedData<Boolean> trackedData, boolean value) {
+        this.dataSlots.setBoolean(trackedData, value, !this.world.isClient && trackedData.getSyncType() != SyncType.NOPE);
+    }
+
+    public boolean getBooleanValue(TrackedData<Boolean> trackedData) {
+        return this.dataSlots.getBoolean(trackedData);
     }
 
     public boolean isDirty() {
-        return this.dirty;
+        return this.dataSlots.isDirty();
     }
 
     public void clean() {
-        this.dataMap.values().forEach(IDataManager.DataEntry::clean);
-        this.dirty = false;
+        this.dataSlots.clean();
+    }
+
+    public void clean(TrackedData<?> trackedData) {
+        this.dataSlots.clean(trackedData);
     }
 
     public void setDataMap(Map<TrackedData<?>, IDataManager.DataEntry<?>> dataMap) {
-        this.dirty = true;
-        this.dataMap = dataMap;
+        this.dataSlots.setAll(dataMap);
     }
 
     public Map<TrackedData<?>, IDataManager.DataEntry<?>> getDataMap() {
-        return this.dataMap;
+        return this.dataSlots.asMap();
     }
 
     public Set<IDataManager.DataEntry<?>> getDirtyEntries() {
-        Set<IDataManager.DataEntry<?>> dirtyEntries = Sets.newHashSet();
-
-        for (DataEntry<?> dataEntry : this.dataMap.values()) {
-            if (dataEntry.isDirty() && dataEntry.getTrackedData().getSyncType() != SyncType.NOPE) {
-                dirtyEntries.add(dataEntry);
-            }
-        }
+        return Sets.newHashSet(this.dataSlots.getDirtyEntries());
+    }
 
-        return dirtyEntries;
+    public Collection<IDataManager.DataEntry<?>> getDirtyEntriesView() {
+        return this.dataSlots.getDirtyEntries();
     }
 
     public Set<IDataManager.DataEntry<?>> getEntries(boolean syncToAll) {
-        Set<IDataManager.DataEntry<?>> dirtyEntries = Sets.newHashSet();
-        Iterator<?> var3 = this.dataMap.values().iterator();
-
-        while(true) {
-            IDataManager.DataEntry<?> entry;
-            while(true) {
-                if (!var3.hasNext()) {
-                    return dirtyEntries;
-                }
-
-                entry = (IDataManager.DataEntry<?>)var3.next();
-                SyncType syncType = entry.getTrackedData().getSyncType();
-                if (syncToAll) {
-                    if (syncType == SyncType.TO_CLIENTS) {
-                        break;
-                    }
-                } else if (syncType != SyncType.NOPE) {
-                    break;
-                }
+        Set<IDataManager.DataEntry<?>> entries = Sets.newHashSet();
+        this.dataSlots.forEach(entry -> {
+            SyncType syncType = entry.getTrackedData().getSyncType();
+            if (syncToAll ? syncType == SyncType.TO_CLIENTS : syncType != SyncType.NOPE) {
+                entries.add(entry);
             }
-
-            dirtyEntries.add(entry);
-        }
+        });
+        return entries;
     }
 
     public EndimatedState getEndimatedState() {
         return this.endimatedState;
     }
 
+    @Override
+    public PlayableEndimation getPlayingEndimation() {
+        this.catchUpEndimation();
+        return this.endimatedState.endimation;
+    }
+
+    @Override
+    public void setPlayingEndimation(PlayableEndimation endimationToPlay) {
+        this.catchUpEndimation();
+        Endimatable.super.setPlayingEndimation(endimationToPlay);
+    }
+
+    @Override
+    public int getAnimationTick() {
+        this.catchUpEndimation();
+        return this.endimatedState.animationTick;
+    }
+
+    @Override
+    public void setAnimationTick(int animationTick) {
+        this.catchUpEndimation();
+        this.endimatedState.animationTick = animationTick;
+    }
+
+    private void catchUpEndimation() {
+        if (!this.world.isClient) {
+            LazyEndimationTicking.catchUp((Entity) (Object) this);
+        }
+    }
+
     public Position getPos() {
         return this.pos;
     }
@@ -132,33 +169,44 @@ public abstract class EntityMixin implements IDataManager, Endimatable {
 
     @Inject(at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;writeCustomDataToNbt(Lnet/minecraft/nbt/NbtCompound;)V", shift = At.Shift.BEFORE), method = "writeNbt")
     private void writeTrackedData(NbtCompound compound, CallbackInfoReturnable<NbtCompound> info) {
-        if (!this.dataMap.isEmpty()) {
-            NbtList nbtElements = new NbtList();
-            this.dataMap.forEach((trackedData, dataEntry) -> {
+        if (!this.dataSlots.isEmpty()) {
+            // Saved as a single compound keyed by id, values of immutable processors are cached on their entries until they change
+            NbtCompound dataTag = new NbtCompound();
+            this.dataSlots.forEach(dataEntry -> {
+                TrackedData<?> trackedData = dataEntry.getTrackedData();
                 if (trackedData.shouldSave()) {
-                    NbtCompound dataTag = dataEntry.writeValue();
-                    dataTag.putString("Id", Objects.requireNonNull(TrackedDataManager.INSTANCE.getKey(trackedData)).toString());
-                    nbtElements.add(dataTag);
+                    dataTag.put(Objects.requireNonNull(trackedData.getKeyString()), dataEntry.writeElement());
                 }
-
             });
-            compound.put("BlueprintTrackedData", nbtElements);
+            compound.put("BlueprintTrackedData", dataTag);
         }
-
     }
 
     @Inject(at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;readCustomDataFromNbt(Lnet/minecraft/nbt/NbtCompound;)V", shift = At.Shift.BEFORE), method = "readNbt")
     public void read(NbtCompound compound, CallbackInfo info) {
-        if (compound.contains("BlueprintTrackedData", 9)) {
+        if (compound.contains("BlueprintTrackedData", 10)) {
+            NbtCompound dataTag = compound.getCompound("BlueprintTrackedData");
+            for (String key : dataTag.getKeys()) {
+                TrackedData<?> trackedData = TrackedDataManager.INSTANCE.getTrackedData(key);
+                if (trackedData != null && trackedData.shouldSave()) {
+                    IDataManager.DataEntry<?> dataEntry = IDataManager.DataEntry.create(trackedData);
+                    dataEntry.readElement(Objects.requireNonNull(dataTag.get(key)), true);
+                    this.dataSlots.put(dataEntry);
+                } else if (trackedData == null) {
+                    Blueprint.LOGGER.warn("Received NBT for unknown Tracked Data: {}", key);
+                }
+            }
+        } else if (compound.contains("BlueprintTrackedData", 9)) {
+            // Legacy list format from before the compact compound format
             NbtList nbtElements = compound.getList("BlueprintTrackedData", 10);
             nbtElements.forEach((nbt) -> {
                 NbtCompound nbtCompound = (NbtCompound)nbt;
-                Identifier id = new Identifier(nbtCompound.getString("Id"));
+                String id = nbtCompound.getString("Id");
                 TrackedData<?> trackedData = TrackedDataManager.INSTANCE.getTrackedData(id);
                 if (trackedData != null && trackedData.shouldSave()) {
-                    IDataManager.DataEntry<?> dataEntry = new IDataManager.DataEntry<>(trackedData);
+                    IDataManager.DataEntry<?> dataEntry = IDataManager.DataEntry.create(trackedData);
                     dataEntry.readValue(nbtCompound, true);
-                    this.dataMap.put(trackedData, dataEntry);
+                    this.dataSlots.put(dataEntry);
                 } else if (trackedData == null) {
                     Blueprint.LOGGER.warn("Received NBT for unknown Tracked Data: {}", id);
                 }
@@ -169,7 +217,11 @@ public abstract class EntityMixin implements IDataManager, Endimatable {
 
     @Inject(at = @At(value = "HEAD", shift = At.Shift.BY, by = 1), method = "baseTick")
     private void baseTick(CallbackInfo info) {
-        this.endimateTick();
+        if (this.world.isClient) {
+            this.endimateTick();
+        } else {
+            LazyEndimationTicking.tick((Entity) (Object) this);
+        }
     }
 
 //    @Redirect(method = "move", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;bypassesSteppingEffects()Z"))
@@ -1,6 +1,14 @@
 package net.george.blueprint.core.mixin;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.george.blueprint.common.world.storage.tracking.IDataManager;
+import net.george.blueprint.common.world.storage.tracking.SyncType;
+import net.george.blueprint.common.world.storage.tracking.TrackedData;
+import net.george.blueprint.common.world.storage.tracking.TrackedDataBatcher;
+import net.george.blueprint.common.world.storage.tracking.TrackedDataManager;
 import net.george.blueprint.core.util.NetworkUtil;
 import net.minecraft.entity.Entity;
 import net.minecraft.server.network.EntityTrackerEntry;
@@ -8,20 +16,32 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Mixin(EntityTrackerEntry.class)
 public class EntityTrackerEntryMixin {
     @Shadow @Final
     private Entity entity;
+    // The world time each tracked data with a sync interval may next be synced at, indexed by id
+    @Unique
+    private long[] nextSyncTimes;
+    // The players outside the sync distance that missed changes of coalescing tracked data
+    @Unique
+    private final Map<TrackedData<?>, Set<ServerPlayerEntity>> staleViewers = Maps.newHashMap();
 
     @Inject(method = "tick", at = @At(value = "FIELD", target = "Lnet/minecraft/entity/Entity;velocityDirty:Z", ordinal = 2, shift = At.Shift.AFTER))
     public void tickVelocityDirty(CallbackInfo ci) {
-        updateEntityData(this.entity);
+        this.updateEntityData(this.entity);
     }
 
     @Inject(method = "tick", at = @At("HEAD"))
@@ -29,21 +49,152 @@ public class EntityTrackerEntryMixin {
         Entity entity = this.entity;
         IDataManager dataManager = (IDataManager)entity;
         if (dataManager.isDirty()) {
-            updateEntityData(entity);
+            this.updateEntityData(entity);
+        }
+        if (!this.staleViewers.isEmpty()) {
+            this.updateStaleViewers(entity);
         }
     }
 
-    private static void updateEntityData(Entity entity) {
+    private void updateEntityData(Entity entity) {
         IDataManager dataManager = (IDataManager)entity;
-        Set<IDataManager.DataEntry<?>> entries = dataManager.getDirtyEntries();
+        Collection<IDataManager.DataEntry<?>> entries = dataManager.getDirtyEntriesView();
         if (!entries.isEmpty()) {
+            for (IDataManager.DataEntry<?> entry : entries) {
+                if (entry.getTrackedData().hasSyncPolicy()) {
+                    this.updateEntityDataWithPolicies(entity, dataManager, entries);
+                    return;
+                }
+            }
+            sendToAll(entity, entries);
+        }
+
+        dataManager.clean();
+    }
+
+    private void updateEntityDataWithPolicies(Entity entity, IDataManager dataManager, Collection<IDataManager.DataEntry<?>> entries) {
+        long time = entity.world.getTime();
+        List<IDataManager.DataEntry<?>> unlimited = Lists.newArrayList();
+        List<IDataManager.DataEntry<?>> distanced = Lists.newArrayList();
+        for (IDataManager.DataEntry<?> entry : entries) {
+            TrackedData<?> trackedData = entry.getTrackedData();
+            int syncInterval = trackedData.getSyncInterval();
+            if (syncInterval > 0) {
+                long[] nextSyncTimes = this.getNextSyncTimes(trackedData.getId());
+                // Entries synced too recently stay dirty, so only their latest value gets sent once the interval has passed
+                if (time < nextSyncTimes[trackedData.getId()]) {
+                    continue;
+                }
+                nextSyncTimes[trackedData.getId()] = time + syncInterval;
+            }
+            if (trackedData.getSyncDistance() > 0.0D && trackedData.getSyncType() == SyncType.TO_CLIENTS) {
+                distanced.add(entry);
+            } else {
+                unlimited.add(entry);
+            }
+        }
+
+        if (!unlimited.isEmpty()) {
+            sendToAll(entity, unlimited);
+        }
+        if (!distanced.isEmpty()) {
+            if (entity instanceof ServerPlayerEntity player) {
+                sendTo(player, entity, distanced);
+            }
+            List<IDataManager.DataEntry<?>> inRange = Lists.newArrayList();
+            for (ServerPlayerEntity player : PlayerLookup.tracking(entity)) {
+                double squaredDistance = player.squaredDistanceTo(entity);
+                for (IDataManager.DataEntry<?> entry : distanced) {
+                    TrackedData<?> trackedData = entry.getTrackedData();
+                    double syncDistance = trackedData.getSyncDistance();
+                    if (squaredDistance <= syncDistance * syncDistance) {
+                        inRange.add(entry);
+                        Set<ServerPlayerEntity> viewers = this.staleViewers.get(trackedData);
+                        if (viewers != null && viewers.remove(player) && viewers.isEmpty()) {
+                            this.staleViewers.remove(trackedData);
+                        }
+                    } else if (trackedData.isCoalescing()) {
+                        this.staleViewers.computeIfAbsent(trackedData, key -> Sets.newHashSet()).add(player);
+                    }
+                }
+                if (!inRange.isEmpty()) {
+                    sendTo(player, entity, inRange);
+                    inRange.clear();
+                }
+            }
+        }
+
+        // Cleaning changes the dirty entries, so the synced entries get cleaned once they've all been sent
+        for (IDataManager.DataEntry<?> entry : unlimited) {
+            dataManager.clean(entry.getTrackedData());
+        }
+        for (IDataManager.DataEntry<?> entry : distanced) {
+            dataManager.clean(entry.getTrackedData());
+        }
+    }
+
+    private void updateStaleViewers(Entity entity) {
+        Map<TrackedData<?>, IDataManager.DataEntry<?>> dataMap = ((IDataManager)entity).getDataMap();
+        Map<ServerPlayerEntity, List<IDataManager.DataEntry<?>>> updates = null;
+        // Players that stopped tracking the entity, for example by changing dimension, can't receive its updates anymore
+        Set<ServerPlayerEntity> tracking = Sets.newHashSet(PlayerLookup.tracking(entity));
+        Iterator<Map.Entry<TrackedData<?>, Set<ServerPlayerEntity>>> iterator = this.staleViewers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<TrackedData<?>, Set<ServerPlayerEntity>> staleEntry = iterator.next();
+            IDataManager.DataEntry<?> entry = dataMap.get(staleEntry.getKey());
+            if (entry == null) {
+                iterator.remove();
+                continue;
+            }
+            double syncDistance = staleEntry.getKey().getSyncDistance();
+            Iterator<ServerPlayerEntity> viewers = staleEntry.getValue().iterator();
+            while (viewers.hasNext()) {
+                ServerPlayerEntity player = viewers.next();
+                if (player.isDisconnected() || player.isRemoved() || player.world != entity.world || !tracking.contains(player)) {
+                    viewers.remove();
+                } else if (player.squaredDistanceTo(entity) <= syncDistance * syncDistance) {
+                    if (updates == null) {
+                        updates = Maps.newHashMap();
+                    }
+                    updates.computeIfAbsent(player, key -> Lists.newArrayList()).add(entry);
+                    viewers.remove();
+                }
+            }
+            if (staleEntry.getValue().isEmpty()) {
+                iterator.remove();
+            }
+        }
+        if (updates != null) {
+            updates.forEach((player, entries) -> sendTo(player, entity, entries));
+        }
+    }
+
+    private long[] getNextSyncTimes(int id) {
+        long[] nextSyncTimes = this.nextSyncTimes;
+        if (nextSyncTimes == null || id >= nextSyncTimes.length) {
+            int size = Math.max(id + 1, TrackedDataManager.INSTANCE.size());
+            this.nextSyncTimes = nextSyncTimes = nextSyncTimes == null ? new long[size] : Arrays.copyOf(nextSyncTimes, size);
+        }
+        return nextSyncTimes;
+    }
+
+    private static void sendToAll(Entity entity, Collection<IDataManager.DataEntry<?>> entries) {
+        if (TrackedDataBatcher.isEnabled()) {
+            TrackedDataBatcher.INSTANCE.queue(entity, entries);
+        } else {
             if (entity instanceof ServerPlayerEntity) {
                 NetworkUtil.updateTrackedData((ServerPlayerEntity) entity, entity.getId(), entries);
             }
 
             NetworkUtil.updateTrackedData(entity, entries);
         }
+    }
 
-        dataManager.clean();
+    private static void sendTo(ServerPlayerEntity player, Entity entity, Collection<IDataManager.DataEntry<?>> entries) {
+        if (TrackedDataBatcher.isEnabled()) {
+            TrackedDataBatcher.INSTANCE.queue(player, entity, entries);
+        } else {
+            NetworkUtil.updateTrackedData(player, entity.getId(), entries);
+        }
     }
 }
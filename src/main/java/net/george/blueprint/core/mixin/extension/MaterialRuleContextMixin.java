@@ -1,6 +1,6 @@
 package net.george.blueprint.core.mixin.extension;
 
-import com.google.common.base.Suppliers;
+import net.george.blueprint.common.world.modification.ModdedBiomeSlice;
 import net.george.blueprint.common.world.modification.ModdedBiomeSource;
 import net.george.blueprint.common.world.modification.ModdedSurfaceSystem;
 import net.george.blueprint.common.world.modification.ModdednessSliceGetter;
@@ -22,13 +22,14 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import java.util.function.Function;
-import java.util.function.Supplier;
 
 @Mixin(MaterialRules.MaterialRuleContext.class)
 public class MaterialRuleContextMixin implements ModdednessSliceGetter {
+    // The position of the current vertical context, and the name id of its slice or -1 if it hasn't been looked up yet
     @Unique
-    @Nullable
-    private Supplier<Identifier> moddedBiomeSlice;
+    private int sliceX, sliceY, sliceZ;
+    @Unique
+    private int sliceNameId = -1;
     @Unique
     @Nullable
     private ModdedBiomeSource moddedBiomeSource;
@@ -40,11 +41,12 @@ public class MaterialRuleContextMixin implements ModdednessSliceGetter {
 
     @Inject(at = @At("RETURN"), method = "initVerticalContext")
     private void updateModdedBiomeSlice(int stoneDepthAbove, int stoneDepthBelow, int waterHeight, int x, int y, int z, CallbackInfo ci) {
-        ModdedBiomeSource moddedBiomeSource = this.moddedBiomeSource;
-        if (moddedBiomeSource != null) {
-            this.moddedBiomeSlice = Suppliers.memoize(() -> moddedBiomeSource.getSliceWithVanillaZoom(x, y, z).name());
+        if (this.moddedBiomeSource != null && (this.sliceNameId == -1 || x != this.sliceX || y != this.sliceY || z != this.sliceZ)) {
+            this.sliceX = x;
+            this.sliceY = y;
+            this.sliceZ = z;
+            this.sliceNameId = -1;
         }
-
     }
 
     @Override
@@ -54,6 +56,15 @@ public class MaterialRuleContextMixin implements ModdednessSliceGetter {
 
     @Override
     public Identifier getSliceName() {
-        return this.moddedBiomeSlice.get();
+        return ModdedBiomeSlice.getName(this.getSliceNameId());
+    }
+
+    @Override
+    public int getSliceNameId() {
+        int sliceNameId = this.sliceNameId;
+        if (sliceNameId == -1) {
+            this.sliceNameId = sliceNameId = this.moddedBiomeSource.getSliceNameIdWithVanillaZoom(this.sliceX, this.sliceY, this.sliceZ);
+        }
+        return sliceNameId;
     }
 }
@@ -2,6 +2,7 @@ package net.george.blueprint.core.registry;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.george.blueprint.common.world.modification.ModdedBiomeSlice;
 import net.george.blueprint.common.world.modification.ModdednessSliceGetter;
 import net.george.blueprint.core.Blueprint;
 import net.minecraft.util.Identifier;
@@ -45,6 +46,7 @@ public final class BlueprintSurfaceRules extends MaterialRules {
                 return () -> false;
             }
 
+            int sliceNameId = ModdedBiomeSlice.getNameId(this.sliceName);
             class ModdednessSliceCondition extends MaterialRules.FullLazyAbstractPredicate {
                 ModdednessSliceCondition() {
                     super(materialRuleContext);
@@ -52,7 +54,7 @@ public final class BlueprintSurfaceRules extends MaterialRules {
 
                 @Override
                 protected boolean test() {
-                    return moddednessSliceGetter.getSliceName().equals(ModdednessSliceConditionSource.this.sliceName);
+                    return moddednessSliceGetter.getSliceNameId() == sliceNameId;
                 }
             }
 
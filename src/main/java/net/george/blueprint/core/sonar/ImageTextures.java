@@ -0,0 +1,110 @@
+package net.george.blueprint.core.sonar;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.NativeImageBackedTexture;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Reads the images of an {@link OnlineImageCache} and loads them as textures.
+ * <p>This is kept apart from the cache so the cache itself doesn't need a running client.</p>
+ *
+ * @author Mr.George
+ */
+interface ImageTextures {
+    /**
+     * Reads an image.
+     *
+     * @param stream The stream to read the image from.
+     * @return The image read from the stream.
+     * @throws IOException If the stream couldn't be read or doesn't contain an image.
+     */
+    Image read(InputStream stream) throws IOException;
+
+    /**
+     * Loads an image as a texture, replacing any texture at the location. Only called on the render thread.
+     *
+     * @param location The location to load the texture at.
+     * @param image    The image to load.
+     */
+    void register(Identifier location, Image image);
+
+    /**
+     * Checks if a texture loaded by {@link #register(Identifier, Image)} is at a location.
+     *
+     * @param location The location to check.
+     * @return If a texture loaded by {@link #register(Identifier, Image)} is at the location.
+     */
+    boolean isRegistered(Identifier location);
+
+    /**
+     * Deletes the texture at a location. Can be called from any thread.
+     *
+     * @param location The location of the texture to delete.
+     */
+    void destroy(Identifier location);
+
+    /**
+     * An image read by {@link #read(InputStream)}.
+     */
+    interface Image {
+        /**
+         * @return The amount of bytes of texture memory this image uses once loaded.
+         */
+        long getBytes();
+
+        /**
+         * Writes this image to a file.
+         *
+         * @param path The path of the file to write.
+         * @throws IOException If the file couldn't be written.
+         */
+        void writeTo(Path path) throws IOException;
+    }
+
+    /**
+     * Loads images as {@link NativeImageBackedTexture}s in the {@link net.minecraft.client.texture.TextureManager} of the client.
+     */
+    @Environment(EnvType.CLIENT)
+    enum Client implements ImageTextures {
+        INSTANCE;
+
+        @Override
+        public Image read(InputStream stream) throws IOException {
+            return new ClientImage(NativeImage.read(stream));
+        }
+
+        @Override
+        public void register(Identifier location, Image image) {
+            MinecraftClient.getInstance().getTextureManager().registerTexture(location, new NativeImageBackedTexture(((ClientImage) image).image()));
+        }
+
+        @Override
+        public boolean isRegistered(Identifier location) {
+            return MinecraftClient.getInstance().getTextureManager().getOrDefault(location, null) instanceof NativeImageBackedTexture;
+        }
+
+        @Override
+        public void destroy(Identifier location) {
+            MinecraftClient.getInstance().execute(() -> MinecraftClient.getInstance().getTextureManager().destroyTexture(location));
+        }
+
+        private record ClientImage(NativeImage image) implements Image {
+            @Override
+            public long getBytes() {
+                return (long) this.image.getWidth() * this.image.getHeight() * 4L;
+            }
+
+            @Override
+            public void writeTo(Path path) throws IOException {
+                this.image.writeTo(path);
+            }
+        }
+    }
+}
@@ -6,11 +6,10 @@ import com.google.gson.JsonParser;
 import com.mojang.blaze3d.systems.RenderSystem;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.texture.MissingSprite;
-import net.minecraft.client.texture.NativeImage;
-import net.minecraft.client.texture.NativeImageBackedTexture;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Util;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -25,16 +24,21 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * <p>Loads and caches images from the internet. The cache can be given an expiration time which allows for images to be redownloaded when required.</p>
  * <p>Textures will also be deleted when not looked at for the specified texture cache time which can be disabled by passing <code>-1</code> as the <code>textureCacheTime</code> in the constructors.</p>
+ * <p>Loaded textures are kept within a byte budget, deleting the least recently requested ones first.</p>
  *
  * @author Ocelot
  */
@@ -43,23 +47,76 @@ import java.util.concurrent.TimeUnit;
 public class OnlineImageCache {
     private static final Logger LOGGER = LogManager.getLogger();
 
+    static final long TEXTURE_LIFETIME = 30000L;
+    static final long INDEX_WRITE_DELAY = 5000L;
+    private static final long DEFAULT_TEXTURE_BYTE_BUDGET = 64L * 1024L * 1024L;
+
     private final Path cacheFolder;
     private final Path cacheFile;
     private final Map<String, Identifier> locationCache;
     private final Set<String> errored;
     private final Map<String, CompletableFuture<Identifier>> requested;
     private final Map<String, Long> textureCache;
+    private final PriorityQueue<Expiry> expiryQueue;
+    private final LinkedHashMap<String, Long> loadedTextures;
     private final long textureCacheTime;
+    private final long textureByteBudget;
+    private final ImageTextures textures;
+    private final Executor ioExecutor;
+    private final Executor renderExecutor;
+    private final LongSupplier clock;
+    private final Object indexWriteLock = new Object();
+    private long loadedTextureBytes;
     private JsonObject cacheFileData;
+    private long indexVersion;
+    private long indexDirtySince = -1L;
+    private long writtenIndexVersion;
 
     public OnlineImageCache(String domain, long textureCacheTime, TimeUnit unit) {
-        this.cacheFolder = MinecraftClient.getInstance().runDirectory.toPath().resolve(domain + "-online-image-cache");
+        this(domain, textureCacheTime, unit, DEFAULT_TEXTURE_BYTE_BUDGET);
+    }
+
+    /**
+     * Creates a new cache with a limit on how much texture memory its loaded images can use.
+     * <p>Once loaded images use more than <code>textureByteBudget</code> bytes, the least recently requested ones get deleted until they fit again.</p>
+     *
+     * @param domain            The domain to name the cache folder after.
+     * @param textureCacheTime  The time images are kept in the cache folder for, or <code>-1</code> to keep loaded textures forever.
+     * @param unit              The unit of <code>textureCacheTime</code>.
+     * @param textureByteBudget The max amount of bytes loaded textures can use, or <code>-1</code> for no limit.
+     */
+    public OnlineImageCache(String domain, long textureCacheTime, TimeUnit unit, long textureByteBudget) {
+        this(MinecraftClient.getInstance().runDirectory.toPath().resolve(domain + "-online-image-cache"), textureCacheTime, unit, textureByteBudget, ImageTextures.Client.INSTANCE, Util.getIoWorkerExecutor(), command -> RenderSystem.recordRenderCall(command::run), System::currentTimeMillis);
+        registerEvents();
+    }
+
+    /**
+     * Creates a new cache that loads its textures through some {@link ImageTextures}, without registering any events.
+     *
+     * @param cacheFolder       The folder to cache images in.
+     * @param textureCacheTime  The time images are kept in the cache folder for, or <code>-1</code> to keep loaded textures forever.
+     * @param unit              The unit of <code>textureCacheTime</code>.
+     * @param textureByteBudget The max amount of bytes loaded textures can use, or <code>-1</code> for no limit.
+     * @param textures          The {@link ImageTextures} to read images and load textures with.
+     * @param ioExecutor        The executor to read cached images and write the cache index on.
+     * @param renderExecutor    The executor to load textures on.
+     * @param clock             The clock to get the current time in milliseconds from.
+     */
+    OnlineImageCache(Path cacheFolder, long textureCacheTime, TimeUnit unit, long textureByteBudget, ImageTextures textures, Executor ioExecutor, Executor renderExecutor, LongSupplier clock) {
+        this.cacheFolder = cacheFolder;
         this.cacheFile = this.cacheFolder.resolve("cache.json");
-        this.locationCache = new HashMap<>();
-        this.errored = new HashSet<>();
-        this.requested = new HashMap<>();
-        this.textureCache = new HashMap<>();
+        this.locationCache = new ConcurrentHashMap<>();
+        this.errored = ConcurrentHashMap.newKeySet();
+        this.requested = new ConcurrentHashMap<>();
+        this.textureCache = new ConcurrentHashMap<>();
+        this.expiryQueue = new PriorityQueue<>();
+        this.loadedTextures = new LinkedHashMap<>(16, 0.75F, true);
         this.textureCacheTime = unit.toMillis(textureCacheTime);
+        this.textureByteBudget = textureByteBudget;
+        this.textures = textures;
+        this.ioExecutor = ioExecutor;
+        this.renderExecutor = renderExecutor;
+        this.clock = clock;
 
         if (Files.exists(this.cacheFile)) {
             try (InputStreamReader is = new InputStreamReader(new FileInputStream(this.cacheFile.toFile()))) {
@@ -71,15 +128,60 @@ public class OnlineImageCache {
         } else {
             this.cacheFileData = new JsonObject();
         }
-        registerEvents();
     }
 
-    private boolean hasTextureExpired(String hash) {
-        return this.textureCacheTime > 0 && (!this.textureCache.containsKey(hash) || System.currentTimeMillis() - this.textureCache.get(hash) > 0);
+    private boolean hasExpired(String hash) {
+        return !this.cacheFileData.has(hash) || (this.cacheFileData.get(hash).getAsLong() != -1 && this.clock.getAsLong() - this.cacheFileData.get(hash).getAsLong() > 0);
     }
 
-    private boolean hasExpired(String hash) {
-        return !this.cacheFileData.has(hash) || (this.cacheFileData.get(hash).getAsLong() != -1 && System.currentTimeMillis() - this.cacheFileData.get(hash).getAsLong() > 0);
+    //Keeps a texture or error alive for another TEXTURE_LIFETIME, only queueing its expiry check if it isn't already queued
+    private void touch(String hash) {
+        long expiry = this.clock.getAsLong() + TEXTURE_LIFETIME;
+        if (this.textureCache.put(hash, expiry) == null && this.textureCacheTime > 0) {
+            synchronized (this.expiryQueue) {
+                this.expiryQueue.add(new Expiry(hash, expiry));
+            }
+        }
+    }
+
+    private void onTextureLoaded(String hash, Identifier location, ImageTextures.Image image) {
+        this.textures.register(location, image);
+        this.touch(hash);
+        synchronized (this.loadedTextures) {
+            Long oldBytes = this.loadedTextures.put(hash, image.getBytes());
+            this.loadedTextureBytes += this.loadedTextures.get(hash) - (oldBytes == null ? 0L : oldBytes);
+            if (this.textureByteBudget < 0) {
+                return;
+            }
+            Iterator<Map.Entry<String, Long>> iterator = this.loadedTextures.entrySet().iterator();
+            while (this.loadedTextureBytes > this.textureByteBudget && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(hash)) {
+                    continue;
+                }
+                iterator.remove();
+                this.loadedTextureBytes -= eldest.getValue();
+                this.destroyTexture(eldest.getKey());
+            }
+        }
+    }
+
+    private void unloadTexture(String hash) {
+        synchronized (this.loadedTextures) {
+            Long bytes = this.loadedTextures.remove(hash);
+            if (bytes != null) {
+                this.loadedTextureBytes -= bytes;
+            }
+        }
+        this.destroyTexture(hash);
+    }
+
+    private void destroyTexture(String hash) {
+        this.textureCache.remove(hash);
+        Identifier location = this.locationCache.remove(hash);
+        if (location != null) {
+            this.textures.destroy(location);
+        }
     }
 
     @Nullable
@@ -96,62 +198,106 @@ public class OnlineImageCache {
 
         return CompletableFuture.supplyAsync(() -> {
             try (FileInputStream is = new FileInputStream(imageFile.toFile())) {
-                return NativeImage.read(is);
+                return this.textures.read(is);
             } catch (IOException e) {
                 LOGGER.error("Failed to load image with hash '" + hash + "' from cache. Deleting", e);
                 return null;
-            }}, Util.getIoWorkerExecutor()).thenApplyAsync(image -> {
+            }}, this.ioExecutor).thenApplyAsync(image -> {
             if (image == null) {
                 try {
-                    this.cacheFileData.remove(hash);
+                    synchronized (this) {
+                        this.cacheFileData.remove(hash);
+                        this.markIndexDirty();
+                    }
                     Files.delete(imageFile);
                 } catch (IOException e) {
                     LOGGER.error("Failed to delete image with hash '" + hash + "' from cache.", e);
                 }
-                this.textureCache.put(hash, System.currentTimeMillis() + 30000);
+                this.touch(hash);
                 this.errored.add(hash);
                 return MissingSprite.getMissingSpriteId();}
-            MinecraftClient.getInstance().getTextureManager().registerTexture(location, new NativeImageBackedTexture(image));
-            this.textureCache.put(hash, System.currentTimeMillis() + 30000);
+            this.onTextureLoaded(hash, location, image);
             return location;
-        }, command -> RenderSystem.recordRenderCall(command::run));
+        }, this.renderExecutor);
     }
 
-    private synchronized void writeCache(String hash, NativeImage image, long expirationDate) throws IOException {
+    private void writeCache(String hash, ImageTextures.Image image, long expirationDate) throws IOException {
         if (!Files.exists(this.cacheFolder))
             Files.createDirectories(this.cacheFolder);
-        if (!Files.exists(this.cacheFile))
-            Files.createFile(this.cacheFile);
-
-        this.cacheFileData.addProperty(hash, expirationDate);
-        try (FileOutputStream os = new FileOutputStream(this.cacheFile.toFile())) {
-            IOUtils.write(this.cacheFileData.toString(), os, Charsets.UTF_8);
-        } catch (Exception e) {
-            LOGGER.error("Failed to write cache to file.", e);
+
+        synchronized (this) {
+            this.cacheFileData.addProperty(hash, expirationDate);
+            this.markIndexDirty();
         }
 
         image.writeTo(this.cacheFolder.resolve(hash));
     }
 
+    //Index changes are written together once no more changes have happened for INDEX_WRITE_DELAY
+    private synchronized void markIndexDirty() {
+        this.indexVersion++;
+        this.indexDirtySince = this.clock.getAsLong();
+    }
+
+    void flushIndex(boolean force) {
+        String content;
+        long version;
+        synchronized (this) {
+            if (this.indexDirtySince < 0 || !force && this.clock.getAsLong() - this.indexDirtySince < INDEX_WRITE_DELAY)
+                return;
+            this.indexDirtySince = -1L;
+            content = this.cacheFileData.toString();
+            version = this.indexVersion;
+        }
+        if (force) {
+            this.writeIndex(content, version);
+        } else {
+            this.ioExecutor.execute(() -> this.writeIndex(content, version));
+        }
+    }
+
+    private void writeIndex(String content, long version) {
+        synchronized (this.indexWriteLock) {
+            //An older write may run after a newer one, so only newer versions of the index get written
+            if (version <= this.writtenIndexVersion)
+                return;
+            try {
+                if (!Files.exists(this.cacheFolder))
+                    Files.createDirectories(this.cacheFolder);
+                try (FileOutputStream os = new FileOutputStream(this.cacheFile.toFile())) {
+                    IOUtils.write(content, os, Charsets.UTF_8);
+                }
+                this.writtenIndexVersion = version;
+            } catch (Exception e) {
+                LOGGER.error("Failed to write cache to file.", e);
+            }
+        }
+    }
+
     public CompletableFuture<Identifier> requestTexture(String url) {
         String hash = DigestUtils.md5Hex(url);
         if (this.errored.contains(hash)) {
-            this.textureCache.put(hash, System.currentTimeMillis() + 30000);
+            this.touch(hash);
             return CompletableFuture.completedFuture(MissingSprite.getMissingSpriteId());
         }
 
         Identifier location = this.locationCache.computeIfAbsent(hash, key -> new Identifier("blueprint", key));
-        if (MinecraftClient.getInstance().getTextureManager().getOrDefault(location, null) != null) {
-            this.textureCache.put(hash, System.currentTimeMillis() + 30000);
+        //Only textures this cache loaded count, as binding a destroyed location registers a broken texture in its place
+        if (this.textures.isRegistered(location)) {
+            this.touch(hash);
+            synchronized (this.loadedTextures) {
+                this.loadedTextures.get(hash);
+            }
             return CompletableFuture.completedFuture(location);
         }
 
-        if (this.requested.containsKey(hash))
-            return this.requested.get(hash);
+        CompletableFuture<Identifier> requestedFuture = this.requested.get(hash);
+        if (requestedFuture != null)
+            return requestedFuture;
 
         CompletableFuture<Identifier> cachedFuture = this.loadCache(hash, location);
         if (cachedFuture != null) {
-            this.requested.put(hash, cachedFuture);
+            this.trackRequest(hash, cachedFuture);
             return cachedFuture;
         }
 
@@ -160,36 +306,63 @@ public class OnlineImageCache {
             if (result == null)
                 return null;
             try {
-                NativeImage image = NativeImage.read(result);
-                this.writeCache(hash, image, System.currentTimeMillis() + this.textureCacheTime);
+                ImageTextures.Image image = this.textures.read(result);
+                this.writeCache(hash, image, this.clock.getAsLong() + this.textureCacheTime);
                 return image;
             } catch (IOException e) {
                 LOGGER.error("Failed to load online texture from '" + url + "'. Using missing texture sprite.", e);
                 return null;
             }
         }).thenApplyAsync(image -> {
-            this.textureCache.put(hash, System.currentTimeMillis() + 30000);
             if (image == null) {
+                this.touch(hash);
                 this.errored.add(hash);
                 return MissingSprite.getMissingSpriteId();
             }
-            MinecraftClient.getInstance().getTextureManager().registerTexture(location, new NativeImageBackedTexture(image));
+            this.onTextureLoaded(hash, location, image);
             return location;
-        }, command -> RenderSystem.recordRenderCall(command::run));
-        this.requested.put(hash, future);
+        }, this.renderExecutor);
+        this.trackRequest(hash, future);
         return future;
     }
 
+    private void trackRequest(String hash, CompletableFuture<Identifier> future) {
+        this.requested.put(hash, future);
+        future.whenComplete((location, exception) -> this.requested.remove(hash, future));
+    }
+
     public void registerEvents() {
-        ClientTickEvents.START_CLIENT_TICK.register(client -> {
-            this.locationCache.entrySet().removeIf(entry -> MinecraftClient.getInstance().getTextureManager().getOrDefault(entry.getValue(), null) == null);
-            this.locationCache.forEach((hash, location) -> {
-                if (this.hasTextureExpired(hash)) {
-                    MinecraftClient.getInstance().execute(() -> MinecraftClient.getInstance().getTextureManager().destroyTexture(location));
-                }});
-            this.errored.removeIf(this::hasTextureExpired);
-            this.requested.values().removeIf(CompletableFuture::isDone);
-        });
+        ClientTickEvents.START_CLIENT_TICK.register(client -> this.tick());
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> this.flushIndex(true));
     }
-}
 
+    void tick() {
+        //Only textures and errors whose expiry check is due get looked at, instead of every cached entry
+        long now = this.clock.getAsLong();
+        synchronized (this.expiryQueue) {
+            Expiry expiry;
+            while ((expiry = this.expiryQueue.peek()) != null && expiry.time() <= now) {
+                this.expiryQueue.poll();
+                String hash = expiry.hash();
+                Long time = this.textureCache.get(hash);
+                if (time == null)
+                    continue;
+                if (time > now) {
+                    this.expiryQueue.add(new Expiry(hash, time));
+                } else if (this.errored.remove(hash)) {
+                    this.textureCache.remove(hash);
+                } else {
+                    this.unloadTexture(hash);
+                }
+            }
+        }
+        this.flushIndex(false);
+    }
+
+    private record Expiry(String hash, long time) implements Comparable<Expiry> {
+        @Override
+        public int compareTo(Expiry other) {
+            return Long.compare(this.time, other.time);
+        }
+    }
+}
@@ -21,7 +21,7 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.ApiStatus;
 
-import java.util.Set;
+import java.util.Collection;
 
 /**
  * A utility class containing some useful Minecraft networking methods.
@@ -96,9 +96,9 @@ public class NetworkUtil {
      *
      * @param player   A {@link ServerPlayerEntity} to send the message to.
      * @param targetID The ID of the entity to update.
-     * @param entries  A set of new entries.
+     * @param entries  A collection of new entries.
      */
-    public static void updateTrackedData(ServerPlayerEntity player, int targetID, Set<IDataManager.DataEntry<?>> entries) {
+    public static void updateTrackedData(ServerPlayerEntity player, int targetID, Collection<IDataManager.DataEntry<?>> entries) {
         Blueprint.CHANNEL.sendToClient(new MessageS2CUpdateEntityData(targetID, entries), player);
     }
 
@@ -106,9 +106,9 @@ public class NetworkUtil {
      * Sends a {@link MessageS2CUpdateEntityData} instance to an entity to update its {@link IDataManager} values.
      *
      * @param entity  An {@link Entity} to update.
-     * @param entries A set of new entries.
+     * @param entries A collection of new entries.
      */
-    public static void updateTrackedData(Entity entity, Set<IDataManager.DataEntry<?>> entries) {
+    public static void updateTrackedData(Entity entity, Collection<IDataManager.DataEntry<?>> entries) {
         Blueprint.CHANNEL.sendToClientsTracking(new MessageS2CUpdateEntityData(entity.getId(), entries), entity);
     }
 
@@ -0,0 +1,170 @@
+package net.george.blueprint.common.resource;
+
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an indexed {@link PathResourcePack} finds the same resources as walking its files did, skips files that can't be resources, and still finds the files at its root, which aren't in its {@link PackIndex}.
+ *
+ * @author Mr.George
+ */
+class PathResourcePackTest {
+    static final String PACK_META = "{\"pack\":{\"pack_format\":8,\"description\":\"test\"}}";
+    static final byte[] PACK_ICON = {(byte) 0x89, 'P', 'N', 'G'};
+
+    static void createPack(Path root) throws IOException {
+        Files.writeString(root.resolve("pack.mcmeta"), PACK_META);
+        Files.write(root.resolve("pack.png"), PACK_ICON);
+        write(root.resolve("assets/test/textures/block/stone.png"), "stone");
+        write(root.resolve("data/test/recipes/stone.json"), "{}");
+    }
+
+    // A pack only using the file system, like every pack did before they were indexed
+    private static PathResourcePack createUnindexedPack(Path root) {
+        return new PathResourcePack("test", root) {
+            @Override
+            PackIndex createIndex() {
+                return null;
+            }
+        };
+    }
+
+    static void write(Path path, String contents) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, contents);
+    }
+
+    static byte[] read(InputStream stream) throws IOException {
+        try (stream) {
+            return stream.readAllBytes();
+        }
+    }
+
+    static void assertOpensRootFiles(PathResourcePack pack) throws IOException {
+        assertEquals(PACK_META, new String(read(pack.openRoot("pack.mcmeta")), StandardCharsets.UTF_8));
+        assertArrayEquals(PACK_ICON, read(pack.openRoot("pack.png")));
+        assertTrue(pack.containsFile("pack.mcmeta"));
+        assertTrue(pack.containsFile("pack.png"));
+    }
+
+    static void assertOpensResources(PathResourcePack pack) throws IOException {
+        Identifier texture = new Identifier("test", "textures/block/stone.png");
+        assertTrue(pack.contains(ResourceType.CLIENT_RESOURCES, texture));
+        assertEquals("stone", new String(read(pack.open(ResourceType.CLIENT_RESOURCES, texture)), StandardCharsets.UTF_8));
+        assertTrue(pack.contains(ResourceType.SERVER_DATA, new Identifier("test", "recipes/stone.json")));
+        assertFalse(pack.contains(ResourceType.SERVER_DATA, new Identifier("test", "recipes/missing.json")));
+        assertEquals(Set.of("test"), pack.getNamespaces(ResourceType.CLIENT_RESOURCES));
+    }
+
+    @Test
+    void opensRootFiles(@TempDir Path root) throws IOException {
+        createPack(root);
+        PathResourcePack pack = new PathResourcePack("test", root);
+        assertOpensResources(pack);
+        assertOpensRootFiles(pack);
+        assertFalse(pack.containsFile("missing.txt"));
+        assertThrows(FileNotFoundException.class, () -> pack.openRoot("missing.txt"));
+    }
+
+    @Test
+    void coversOnlyResourceDirectories() {
+        assertTrue(PackIndex.covers("assets/test/textures/block/stone.png"));
+        assertTrue(PackIndex.covers("data/test/recipes/stone.json"));
+        assertFalse(PackIndex.covers("pack.mcmeta"));
+        assertFalse(PackIndex.covers("assets"));
+        assertFalse(PackIndex.covers("assets_extra/test.png"));
+        assertFalse(PackIndex.covers("META-INF/MANIFEST.MF"));
+    }
+
+    @Test
+    void findsSameResourcesAsFileSystem(@TempDir Path root) throws IOException {
+        createPack(root);
+        write(root.resolve("assets/test/textures/block/stone.png.mcmeta"), "{}");
+        write(root.resolve("assets/test/textures/block/deep/stone.png"), "deep");
+        write(root.resolve("assets/test/textures/item/stone.png"), "item");
+        write(root.resolve("assets/test/textures/stone_top.png"), "top");
+        write(root.resolve("assets/test/textures/stone.json"), "{}");
+        write(root.resolve("assets/test/textures_extra/stone.png"), "extra");
+        write(root.resolve("assets/test/models/block/stone.json"), "{}");
+        write(root.resolve("assets/test/models/stone.json"), "{}");
+        write(root.resolve("assets/other/textures/stone.png"), "other");
+        PathResourcePack indexed = new PathResourcePack("test", root);
+        PathResourcePack unindexed = createUnindexedPack(root);
+        assertNotNull(indexed.getIndex());
+        assertNull(unindexed.getIndex());
+        List<Predicate<String>> filters = List.of(name -> name.endsWith(".png"), name -> name.endsWith(".json"), name -> name.startsWith("stone"));
+        for (String prefix : new String[] {"textures", "textures/", "textures/block", "texture", "models", "models/block", "sounds"}) {
+            for (int maxDepth : new int[] {1, 2, 3, 4, Integer.MAX_VALUE}) {
+                for (int i = 0; i < filters.size(); i++) {
+                    Predicate<String> filter = filters.get(i);
+                    assertEquals(new HashSet<>(unindexed.findResources(ResourceType.CLIENT_RESOURCES, "test", prefix, maxDepth, filter)), new HashSet<>(indexed.findResources(ResourceType.CLIENT_RESOURCES, "test", prefix, maxDepth, filter)), "Resources differ for prefix " + prefix + ", max depth " + maxDepth + " and filter " + i);
+                }
+            }
+        }
+        // Spot checks, so both packs finding nothing wouldn't pass
+        assertEquals(Set.of(new Identifier("test", "textures/stone_top.png"), new Identifier("test", "textures/block/stone.png"), new Identifier("test", "textures/item/stone.png")), new HashSet<>(indexed.findResources(ResourceType.CLIENT_RESOURCES, "test", "textures", 3, name -> name.endsWith(".png"))));
+        assertEquals(Set.of(new Identifier("test", "recipes/stone.json")), new HashSet<>(indexed.findResources(ResourceType.SERVER_DATA, "test", "recipes", Integer.MAX_VALUE, name -> name.endsWith(".json"))));
+        assertEquals(unindexed.getNamespaces(ResourceType.CLIENT_RESOURCES), indexed.getNamespaces(ResourceType.CLIENT_RESOURCES));
+        assertEquals(unindexed.getNamespaces(ResourceType.SERVER_DATA), indexed.getNamespaces(ResourceType.SERVER_DATA));
+    }
+
+    @Test
+    void skipsInvalidFileNames(@TempDir Path root) throws IOException {
+        createPack(root);
+        String[] invalidNames = {"assets/test/.DS_Store", "assets/test/README.md", "assets/test/textures/block/Thumbs.db", "assets/test/textures/block/LICENSE.txt", "assets/test/textures/block/bad name.png", "assets/test/textures/Blocks/stone.png", "assets/Other/textures/stone.png", "assets/.DS_Store/stone.png", "data/test/recipes/Stone_Slab.json"};
+        for (String name : invalidNames) {
+            write(root.resolve(name), "invalid");
+        }
+        PathResourcePack pack = new PathResourcePack("test", root);
+        assertNotNull(pack.getIndex());
+        assertOpensResources(pack);
+        assertOpensRootFiles(pack);
+        assertEquals(List.of(new Identifier("test", "textures/block/stone.png")), pack.findResources(ResourceType.CLIENT_RESOURCES, "test", "textures", Integer.MAX_VALUE, name -> true));
+        assertEquals(List.of(new Identifier("test", "recipes/stone.json")), pack.findResources(ResourceType.SERVER_DATA, "test", "recipes", Integer.MAX_VALUE, name -> true));
+        // Files that can't be found can't be opened either
+        for (String name : invalidNames) {
+            assertFalse(pack.containsFile(name), name);
+        }
+    }
+
+    @Test
+    void doesNotRetryFailedIndex(@TempDir Path root) throws IOException {
+        createPack(root);
+        AtomicInteger attempts = new AtomicInteger();
+        PathResourcePack pack = new PathResourcePack("test", root) {
+            @Override
+            PackIndex createIndex() {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("Test index failure");
+            }
+        };
+        assertNull(pack.getIndex());
+        // The pack falls back to the file system instead of failing
+        assertOpensResources(pack);
+        assertOpensRootFiles(pack);
+        assertEquals(List.of(new Identifier("test", "textures/block/stone.png")), pack.findResources(ResourceType.CLIENT_RESOURCES, "test", "textures", Integer.MAX_VALUE, name -> name.endsWith(".png")));
+        assertEquals(1, attempts.get());
+    }
+}
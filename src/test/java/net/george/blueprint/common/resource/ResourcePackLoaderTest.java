@@ -0,0 +1,116 @@
+package net.george.blueprint.common.resource;
+
+import net.fabricmc.loader.api.ModContainer;
+import net.fabricmc.loader.api.metadata.ModMetadata;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the mod packs {@link ResourcePackLoader#createPackForMod(ModContainer)} creates find their files through the index shared by all mod packs, and still find the files at their root, which aren't in it.
+ * <p>Mod packs are also created this way by {@link ExistingFileHelper} for data generation.</p>
+ *
+ * @author Mr.George
+ */
+class ResourcePackLoaderTest {
+    // Only the parts of a mod that its pack uses, so the test doesn't need a running Fabric Loader
+    private static ModContainer createMod(String id, Path root, AtomicInteger rootPathLookups) {
+        ModMetadata metadata = (ModMetadata) Proxy.newProxyInstance(ResourcePackLoaderTest.class.getClassLoader(), new Class<?>[] {ModMetadata.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "getId", "getName", "toString" -> id;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+        return (ModContainer) Proxy.newProxyInstance(ResourcePackLoaderTest.class.getClassLoader(), new Class<?>[] {ModContainer.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "getMetadata" -> metadata;
+            case "getRootPath" -> root;
+            case "getRootPaths" -> {
+                rootPathLookups.incrementAndGet();
+                yield List.of(root);
+            }
+            case "findPath" -> {
+                Path path = root.resolve((String) args[0]);
+                yield Files.exists(path) ? Optional.of(path) : Optional.empty();
+            }
+            case "toString" -> id;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    @Test
+    void modPackOpensRootFiles(@TempDir Path root) throws IOException {
+        PathResourcePackTest.createPack(root);
+        ModContainer mod = createMod("test", root, new AtomicInteger());
+        PathResourcePack pack = ResourcePackLoader.createPackForMod(mod, new ResourcePackLoader.ModsIndex(() -> List.of(mod)));
+        assertNotNull(pack.getIndex());
+        PathResourcePackTest.assertOpensResources(pack);
+        PathResourcePackTest.assertOpensRootFiles(pack);
+    }
+
+    @Test
+    void invalidFileNamesOfOtherModsAreSkipped(@TempDir Path folder) throws IOException {
+        Path root = Files.createDirectory(folder.resolve("test"));
+        PathResourcePackTest.createPack(root);
+        Path otherRoot = Files.createDirectory(folder.resolve("other"));
+        PathResourcePackTest.write(otherRoot.resolve("assets/other/textures/block/marble.png"), "marble");
+        PathResourcePackTest.write(otherRoot.resolve("assets/other/textures/block/Thumbs.db"), "invalid");
+        PathResourcePackTest.write(otherRoot.resolve("assets/other/README.md"), "invalid");
+        PathResourcePackTest.write(otherRoot.resolve("data/other/recipes/Bad Name.json"), "invalid");
+        PathResourcePackTest.write(otherRoot.resolve("data/Other/recipes/marble.json"), "invalid");
+        AtomicInteger rootPathLookups = new AtomicInteger();
+        ModContainer mod = createMod("test", root, rootPathLookups);
+        ModContainer otherMod = createMod("other", otherRoot, rootPathLookups);
+        ResourcePackLoader.ModsIndex modsIndex = new ResourcePackLoader.ModsIndex(() -> List.of(mod, otherMod));
+        PathResourcePack pack = ResourcePackLoader.createPackForMod(mod, modsIndex);
+        PathResourcePack otherPack = ResourcePackLoader.createPackForMod(otherMod, modsIndex);
+        assertNotNull(pack.getIndex());
+        PathResourcePackTest.assertOpensResources(pack);
+        PathResourcePackTest.assertOpensRootFiles(pack);
+        Identifier marble = new Identifier("other", "textures/block/marble.png");
+        assertTrue(otherPack.contains(ResourceType.CLIENT_RESOURCES, marble));
+        assertEquals("marble", new String(PathResourcePackTest.read(otherPack.open(ResourceType.CLIENT_RESOURCES, marble)), StandardCharsets.UTF_8));
+        assertEquals(List.of(marble), otherPack.findResources(ResourceType.CLIENT_RESOURCES, "other", "textures", Integer.MAX_VALUE, name -> true));
+        assertEquals(List.of(), otherPack.findResources(ResourceType.SERVER_DATA, "other", "recipes", Integer.MAX_VALUE, name -> true));
+        // Both packs share one index, built once
+        assertEquals(2, rootPathLookups.get());
+    }
+
+    @Test
+    void failedModsIndexIsNotRetried(@TempDir Path folder) throws IOException {
+        Path root = Files.createDirectory(folder.resolve("test"));
+        PathResourcePackTest.createPack(root);
+        ModContainer mod = createMod("test", root, new AtomicInteger());
+        AtomicInteger brokenLookups = new AtomicInteger();
+        ModContainer brokenMod = (ModContainer) Proxy.newProxyInstance(ResourcePackLoaderTest.class.getClassLoader(), new Class<?>[] {ModContainer.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getRootPaths")) {
+                brokenLookups.incrementAndGet();
+                throw new IllegalStateException("Test mod failure");
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        ResourcePackLoader.ModsIndex modsIndex = new ResourcePackLoader.ModsIndex(() -> List.of(mod, brokenMod));
+        PathResourcePack pack = ResourcePackLoader.createPackForMod(mod, modsIndex);
+        assertNull(pack.getIndex());
+        // Without the index, files get found through the mod itself
+        PathResourcePackTest.assertOpensRootFiles(pack);
+        Identifier texture = new Identifier("test", "textures/block/stone.png");
+        assertTrue(pack.contains(ResourceType.CLIENT_RESOURCES, texture));
+        assertEquals("stone", new String(PathResourcePackTest.read(pack.open(ResourceType.CLIENT_RESOURCES, texture)), StandardCharsets.UTF_8));
+        assertEquals(List.of(texture), pack.findResources(ResourceType.CLIENT_RESOURCES, "test", "textures", Integer.MAX_VALUE, name -> name.endsWith(".png")));
+        assertNull(ResourcePackLoader.createPackForMod(mod, modsIndex).getIndex());
+        assertEquals(1, brokenLookups.get());
+    }
+}
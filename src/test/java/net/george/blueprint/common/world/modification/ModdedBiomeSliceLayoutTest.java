@@ -0,0 +1,155 @@
+package net.george.blueprint.common.world.modification;
+
+import net.minecraft.world.biome.source.BiomeCoords;
+import net.minecraft.world.biome.source.SeedMixer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the batch and cached slice lookups of {@link ModdedBiomeSliceLayout} give the same slices as looking up each position on its own.
+ *
+ * @author Mr.George
+ */
+class ModdedBiomeSliceLayoutTest {
+    private static final int SEEDS = 32;
+
+    private static ModdedBiomeSliceLayout createLayout(Random random, int regionSize) {
+        return LayoutParameters.create(random).createLayout(regionSize);
+    }
+
+    @Test
+    void singlePositionsMatchOriginalAlgorithm() {
+        Random random = new Random(88412093L);
+        for (int i = 0; i < SEEDS; i++) {
+            LayoutParameters parameters = LayoutParameters.create(random);
+            ModdedBiomeSliceLayout layout = parameters.createLayout(0);
+            for (int j = 0; j < 2048; j++) {
+                int x = random.nextInt(1 << 20) - (1 << 19);
+                int z = random.nextInt(1 << 20) - (1 << 19);
+                assertEquals(parameters.getOriginalSliceIndex(x, z), layout.getSliceIndexUncached(x, z), "Slice differs from the original algorithm for layout " + i);
+            }
+        }
+    }
+
+    @Test
+    void batchMatchesSinglePositions() {
+        Random random = new Random(5810237L);
+        for (int i = 0; i < SEEDS; i++) {
+            ModdedBiomeSliceLayout layout = createLayout(random, 0);
+            int x = random.nextInt(1 << 20) - (1 << 19);
+            int z = random.nextInt(1 << 20) - (1 << 19);
+            int width = 1 + random.nextInt(40);
+            int depth = 1 + random.nextInt(40);
+            int[] expected = new int[width * depth];
+            for (int localX = 0; localX < width; localX++) {
+                for (int localZ = 0; localZ < depth; localZ++) {
+                    expected[localX * depth + localZ] = layout.getSliceIndexUncached(x + localX, z + localZ);
+                }
+            }
+            assertArrayEquals(expected, layout.getSliceIndicesUncached(x, z, width, depth), "Batch slices differ for layout " + i);
+        }
+    }
+
+    @Test
+    void cachesMatchSinglePositions() {
+        Random random = new Random(-2947116L);
+        for (int regionSize : new int[] {0, 16, 512}) {
+            for (int i = 0; i < SEEDS; i++) {
+                ModdedBiomeSliceLayout layout = createLayout(random, regionSize);
+                // Crosses region borders and negative coordinates, and revisits positions to hit the caches
+                int x = random.nextInt(512) - 256;
+                int z = random.nextInt(512) - 256;
+                for (int pass = 0; pass < 2; pass++) {
+                    for (int localX = 0; localX < 48; localX++) {
+                        for (int localZ = 0; localZ < 48; localZ++) {
+                            assertEquals(layout.getSliceIndexUncached(x + localX, z + localZ), layout.getSliceIndex(x + localX, z + localZ), "Cached slice differs for region size " + regionSize);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private record LayoutParameters(int[] weights, int size, long slicesSeed, long slicesZoomSeed) {
+        private static LayoutParameters create(Random random) {
+            int sliceCount = 1 + random.nextInt(12);
+            int[] weights = new int[sliceCount];
+            for (int i = 0; i < sliceCount; i++) {
+                // Slices with a weight of 0 never get picked, but still need to be skipped correctly
+                weights[i] = random.nextInt(8) == 0 ? 0 : 1 + random.nextInt(20);
+            }
+            weights[random.nextInt(sliceCount)] = 1 + random.nextInt(20);
+            long seed = random.nextLong();
+            return new LayoutParameters(weights, 1 + random.nextInt(10), seed + 1791510900, seed - 771160217);
+        }
+
+        private ModdedBiomeSliceLayout createLayout(int regionSize) {
+            return new ModdedBiomeSliceLayout(this.weights, this.size, this.slicesSeed, this.slicesZoomSeed, regionSize, 4);
+        }
+
+        // The per-position algorithm ModdedBiomeSource used before slices were batched, cached in regions, or picked from a table
+        private int getOriginalSliceIndex(int x, int z) {
+            int cordX = BiomeCoords.toBlock(x);
+            int cordZ = BiomeCoords.toBlock(z);
+            for (int i = 0; i < this.size; i++) {
+                int cellPosX = cordX & 1;
+                int cellPosZ = cordZ & 1;
+                int cellX = cordX >> 1;
+                int cellZ = cordZ >> 1;
+                if (cellPosX == 0 && cellPosZ == 0) {
+                    cordX = cellX;
+                    cordZ = cellZ;
+                } else if (cellPosX == 0) {
+                    if (nextInt(this.slicesZoomSeed, cellX << 1, cellZ << 1, 2) == 0) {
+                        cordZ = cellZ;
+                    } else {
+                        cordZ = (cordZ + 1) >> 1;
+                    }
+                    cordX = cellX;
+                } else if (cellPosZ == 0) {
+                    if (nextInt(this.slicesZoomSeed, cellX << 1, cellZ << 1, 2) == 0) {
+                        cordX = cellX;
+                    } else {
+                        cordX = (cordX + 1) >> 1;
+                    }
+                    cordZ = cellZ;
+                } else {
+                    int offsetChoice = nextInt(this.slicesZoomSeed, cellX << 1, cellZ << 1, 4);
+                    if (offsetChoice == 0) {
+                        cordX = cellX;
+                        cordZ = cellZ;
+                    } else if (offsetChoice == 1) {
+                        cordX = (cordX + 1) >> 1;
+                        cordZ = cellZ;
+                    } else if (offsetChoice == 2) {
+                        cordX = cellX;
+                        cordZ = (cordZ + 1) >> 1;
+                    } else {
+                        cordX = (cordX + 1) >> 1;
+                        cordZ = (cordZ + 1) >> 1;
+                    }
+                }
+            }
+            int totalWeight = 0;
+            for (int weight : this.weights) {
+                totalWeight += weight;
+            }
+            int randomWeight = nextInt(this.slicesSeed, cordX, cordZ, totalWeight);
+            for (int i = 0; i < this.weights.length; i++) {
+                if ((randomWeight -= this.weights[i]) < 0) return i;
+            }
+            return 0;
+        }
+
+        private static int nextInt(long seed, int x, int z, int bound) {
+            long next = SeedMixer.mixSeed(seed, x);
+            next = SeedMixer.mixSeed(next, z);
+            next = SeedMixer.mixSeed(next, x);
+            return Math.floorMod(SeedMixer.mixSeed(next, z) >> 24, bound);
+        }
+    }
+}
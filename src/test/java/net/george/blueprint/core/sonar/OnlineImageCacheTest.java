@@ -0,0 +1,285 @@
+package net.george.blueprint.core.sonar;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import net.minecraft.client.texture.MissingSprite;
+import net.minecraft.util.Identifier;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the loading, budget, expiry and index writing of an {@link OnlineImageCache}, downloading images from a local HTTP server.
+ * <p>Images are stand-ins made of only their width and height, so no textures or client are needed.</p>
+ *
+ * @author Mr.George
+ */
+class OnlineImageCacheTest {
+    // Each 16x16 image uses 1 KiB of texture memory
+    private static final long IMAGE_BYTES = 16 * 16 * 4;
+    private final Map<String, ServedImage> served = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> downloads = new ConcurrentHashMap<>();
+    private final AtomicLong time = new AtomicLong(1000000L);
+    private HttpServer server;
+    @TempDir
+    Path cacheFolder;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            this.downloads.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+            ServedImage image = this.served.get(path);
+            try (exchange) {
+                if (image == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                Thread.sleep(image.latency());
+                byte[] data = image.encode();
+                exchange.sendResponseHeaders(200, data.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(data);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        this.server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.server.stop(0);
+    }
+
+    private String serve(String name, int width, int height, long latency) {
+        this.served.put("/" + name, new ServedImage(width, height, latency));
+        return "http://127.0.0.1:" + this.server.getAddress().getPort() + "/" + name;
+    }
+
+    private int getDownloads(String name) {
+        AtomicInteger downloads = this.downloads.get("/" + name);
+        return downloads == null ? 0 : downloads.get();
+    }
+
+    private OnlineImageCache createCache(FakeTextures textures, long textureByteBudget) {
+        return new OnlineImageCache(this.cacheFolder, 1, TimeUnit.DAYS, textureByteBudget, textures, Runnable::run, Runnable::run, this.time::get);
+    }
+
+    private static Identifier load(OnlineImageCache cache, String url) throws Exception {
+        return cache.requestTexture(url).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void sharesDownloadsAndReusesLoadedTextures() throws Exception {
+        FakeTextures textures = new FakeTextures();
+        OnlineImageCache cache = this.createCache(textures, -1);
+        String url = this.serve("slow", 16, 16, 200);
+        CompletableFuture<Identifier> first = cache.requestTexture(url);
+        assertSame(first, cache.requestTexture(url), "Requests during a download should share it");
+        Identifier location = first.get(10, TimeUnit.SECONDS);
+        assertTrue(textures.isRegistered(location));
+        CompletableFuture<Identifier> loaded = cache.requestTexture(url);
+        assertTrue(loaded.isDone(), "Loaded textures should be returned right away");
+        assertEquals(location, loaded.get());
+        assertEquals(1, this.getDownloads("slow"));
+    }
+
+    @Test
+    void evictsLeastRecentlyRequestedTexturesOverBudget() throws Exception {
+        FakeTextures textures = new FakeTextures();
+        OnlineImageCache cache = this.createCache(textures, 3 * IMAGE_BYTES);
+        Identifier a = load(cache, this.serve("a", 16, 16, 0));
+        Identifier b = load(cache, this.serve("b", 16, 16, 0));
+        Identifier c = load(cache, this.serve("c", 16, 16, 0));
+        assertTrue(textures.destroyed.isEmpty(), "Textures within the budget shouldn't be deleted");
+        // Requesting a again makes b the least recently requested
+        load(cache, this.serve("a", 16, 16, 0));
+        Identifier d = load(cache, this.serve("d", 16, 16, 0));
+        assertEquals(List.of(b), textures.destroyed);
+        assertTrue(textures.isRegistered(a));
+        assertTrue(textures.isRegistered(c));
+        assertTrue(textures.isRegistered(d));
+        // A texture evicted by the budget gets loaded again from the disk cache, evicting the next least recently requested one
+        assertEquals(b, load(cache, this.serve("b", 16, 16, 0)));
+        assertEquals(List.of(b, c), textures.destroyed);
+        assertEquals(1, this.getDownloads("b"));
+    }
+
+    @Test
+    void keepsNewTexturesLargerThanBudget() throws Exception {
+        FakeTextures textures = new FakeTextures();
+        OnlineImageCache cache = this.createCache(textures, 2 * IMAGE_BYTES);
+        Identifier small = load(cache, this.serve("small", 16, 16, 0));
+        Identifier large = load(cache, this.serve("large", 32, 32, 0));
+        assertEquals(List.of(small), textures.destroyed);
+        assertTrue(textures.isRegistered(large));
+    }
+
+    @Test
+    void deletesTexturesOnceUnusedForTheirLifetime() throws Exception {
+        FakeTextures textures = new FakeTextures();
+        OnlineImageCache cache = this.createCache(textures, -1);
+        String url = this.serve("expiring", 16, 16, 0);
+        long start = this.time.get();
+        Identifier location = load(cache, url);
+
+        this.time.set(start + OnlineImageCache.TEXTURE_LIFETIME / 2);
+        cache.tick();
+        assertTrue(textures.isRegistered(location));
+        // Requesting the texture again keeps it for another lifetime, so its first expiry check only queues it again
+        load(cache, url);
+        this.time.set(start + OnlineImageCache.TEXTURE_LIFETIME);
+        cache.tick();
+        assertTrue(textures.isRegistered(location), "Textures requested again shouldn't be deleted at their old expiry");
+
+        this.time.set(start + OnlineImageCache.TEXTURE_LIFETIME / 2 + OnlineImageCache.TEXTURE_LIFETIME);
+        cache.tick();
+        assertFalse(textures.isRegistered(location));
+        assertEquals(List.of(location), textures.destroyed);
+    }
+
+    @Test
+    void remembersFailedDownloads() throws Exception {
+        FakeTextures textures = new FakeTextures();
+        OnlineImageCache cache = this.createCache(textures, -1);
+        String url = "http://127.0.0.1:" + this.server.getAddress().getPort() + "/missing";
+        assertEquals(MissingSprite.getMissingSpriteId(), load(cache, url));
+        assertEquals(MissingSprite.getMissingSpriteId(), load(cache, url));
+        assertEquals(1, this.getDownloads("missing"));
+
+        // Failures are forgotten after their lifetime, so they get tried again
+        this.time.addAndGet(OnlineImageCache.TEXTURE_LIFETIME);
+        cache.tick();
+        load(cache, url);
+        assertEquals(2, this.getDownloads("missing"));
+    }
+
+    @Test
+    void writesIndexOnceChangesSettle() throws Exception {
+        FakeTextures textures = new FakeTextures();
+        OnlineImageCache cache = this.createCache(textures, -1);
+        Path index = this.cacheFolder.resolve("cache.json");
+        long start = this.time.get();
+        String first = this.serve("first", 16, 16, 0);
+        String second = this.serve("second", 16, 16, 0);
+        load(cache, first);
+
+        this.time.set(start + OnlineImageCache.INDEX_WRITE_DELAY - 1);
+        cache.tick();
+        assertFalse(Files.exists(index), "The index shouldn't be written before the delay");
+        // Another change restarts the delay
+        load(cache, second);
+        this.time.set(start + OnlineImageCache.INDEX_WRITE_DELAY);
+        cache.tick();
+        assertFalse(Files.exists(index), "The index shouldn't be written while changes keep happening");
+
+        this.time.set(start + 2 * OnlineImageCache.INDEX_WRITE_DELAY);
+        cache.tick();
+        assertTrue(Files.exists(index));
+        JsonObject written = JsonParser.parseString(Files.readString(index)).getAsJsonObject();
+        assertTrue(written.has(DigestUtils.md5Hex(first)));
+        assertTrue(written.has(DigestUtils.md5Hex(second)));
+
+        // A new cache loads the written index and reads the images from disk instead of downloading them again
+        FakeTextures reloadedTextures = new FakeTextures();
+        OnlineImageCache reloaded = this.createCache(reloadedTextures, -1);
+        assertTrue(reloadedTextures.isRegistered(load(reloaded, first)));
+        assertTrue(reloadedTextures.isRegistered(load(reloaded, second)));
+        assertEquals(1, this.getDownloads("first"));
+        assertEquals(1, this.getDownloads("second"));
+    }
+
+    @Test
+    void forcedIndexWritesSkipTheDelay() throws Exception {
+        OnlineImageCache cache = this.createCache(new FakeTextures(), -1);
+        String url = this.serve("forced", 16, 16, 0);
+        load(cache, url);
+        cache.flushIndex(true);
+        JsonObject written = JsonParser.parseString(Files.readString(this.cacheFolder.resolve("cache.json"))).getAsJsonObject();
+        assertTrue(written.has(DigestUtils.md5Hex(url)));
+    }
+
+    private record ServedImage(int width, int height, long latency) {
+        private byte[] encode() throws IOException {
+            return FakeImage.encode(this.width, this.height);
+        }
+    }
+
+    private record FakeImage(int width, int height) implements ImageTextures.Image {
+        private static byte[] encode(int width, int height) throws IOException {
+            try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(); DataOutputStream output = new DataOutputStream(bytes)) {
+                output.writeInt(width);
+                output.writeInt(height);
+                output.flush();
+                return bytes.toByteArray();
+            }
+        }
+
+        @Override
+        public long getBytes() {
+            return (long) this.width * this.height * 4L;
+        }
+
+        @Override
+        public void writeTo(Path path) throws IOException {
+            Files.write(path, encode(this.width, this.height));
+        }
+    }
+
+    private static final class FakeTextures implements ImageTextures {
+        private final Map<Identifier, Image> registered = new ConcurrentHashMap<>();
+        private final List<Identifier> destroyed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Image read(InputStream stream) throws IOException {
+            DataInputStream input = new DataInputStream(stream);
+            return new FakeImage(input.readInt(), input.readInt());
+        }
+
+        @Override
+        public void register(Identifier location, Image image) {
+            this.registered.put(location, image);
+        }
+
+        @Override
+        public boolean isRegistered(Identifier location) {
+            return this.registered.containsKey(location);
+        }
+
+        @Override
+        public void destroy(Identifier location) {
+            this.registered.remove(location);
+            this.destroyed.add(location);
+        }
+    }
+}